@@ -1,4 +1,32 @@
 package com.ourecommerce.inventorymanagement.api;
 
 public class ProductReservationRequest{
+    private String productCode;
+    private Integer quantity;
+    
+    public String getProductCode(){
+        return productCode;
+    }
+    
+    public ProductReservationRequest setProductCode(String productCode){
+        this.productCode = productCode;
+        return this;
+    }
+    
+    public Integer getQuantity(){
+        return quantity;
+    }
+    
+    public ProductReservationRequest setQuantity(Integer quantity){
+        this.quantity = quantity;
+        return this;
+    }
+    
+    @Override
+    public String toString(){
+        return "ProductReservationRequest{" +
+            "productCode='" + productCode + '\'' +
+            ", quantity=" + quantity +
+            '}';
+    }
 }
@@ -1,4 +1,14 @@
 package com.ourecommerce.inventorymanagement.api;
 
 public class ProductReservationResponse{
+    private String status;
+    
+    public String getStatus(){
+        return status;
+    }
+    
+    public ProductReservationResponse setStatus(String status){
+        this.status = status;
+        return this;
+    }
 }
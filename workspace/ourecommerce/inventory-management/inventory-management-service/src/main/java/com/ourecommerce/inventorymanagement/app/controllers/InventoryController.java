@@ -2,6 +2,7 @@ package com.ourecommerce.inventorymanagement.app.controllers;
 
 import com.ourecommerce.inventorymanagement.api.ProductInventoryResponse;
 import com.ourecommerce.inventorymanagement.app.service.ProductInventoryService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,7 +20,9 @@ public class InventoryController{
     }
     
     @GetMapping("/{productCode}")
-    public Mono<ProductInventoryResponse> getInventoryForProductWithCode(@PathVariable("productCode") String productCode){
-        return productInventoryService.getInventoryForProductWithCode(productCode);
+    public Mono<ResponseEntity<ProductInventoryResponse>> getInventoryForProductWithCode(@PathVariable("productCode") String productCode){
+        return productInventoryService.getInventoryForProductWithCode(productCode)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 }
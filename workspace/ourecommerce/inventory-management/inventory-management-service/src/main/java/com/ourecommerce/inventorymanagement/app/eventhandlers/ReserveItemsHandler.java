@@ -1,11 +1,25 @@
 package com.ourecommerce.inventorymanagement.app.eventhandlers;
 
+import com.ourecommerce.inventorymanagement.app.service.BlacklistedProductIndex;
+import com.ourecommerce.productmanagement.api.ProductsBlacklistedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class ReserveItemsHandler{
     
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReserveItemsHandler.class);
+    
+    private final BlacklistedProductIndex blacklistedProductIndex;
+    
+    public ReserveItemsHandler(BlacklistedProductIndex blacklistedProductIndex){
+        this.blacklistedProductIndex = blacklistedProductIndex;
+    }
+    
     @RabbitListener(queues = "new_items")
     public void receiveMessage(String message) {
         try{
@@ -17,8 +31,11 @@ public class ReserveItemsHandler{
         
     }
     
-    @RabbitListener(queues = "inventory_product_catalog_queue")
-    public void processBlackList(String message) {
-        System.out.println("Processing blacklisted product: " + message);
+    @RabbitListener(queues = "inventory_product_catalog_queue", containerFactory = "blacklistBatchListenerContainerFactory")
+    public void processBlackList(List<ProductsBlacklistedEvent> messages) {
+        LOGGER.debug("Processing {} blacklisted product batches", messages.size());
+        blacklistedProductIndex.addAll(messages.stream()
+            .flatMap(message -> message.getProductIds().stream())
+            .toList());
     }
 }
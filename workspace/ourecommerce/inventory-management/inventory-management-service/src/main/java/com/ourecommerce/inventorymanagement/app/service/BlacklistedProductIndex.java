@@ -0,0 +1,60 @@
+package com.ourecommerce.inventorymanagement.app.service;
+
+import com.ourecommerce.productmanagement.api.BlacklistedProductsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class BlacklistedProductIndex{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlacklistedProductIndex.class);
+    
+    private final Set<String> blacklistedProductCodes = ConcurrentHashMap.newKeySet();
+    private final WebClient webClient;
+    private final String snapshotUri;
+    
+    public BlacklistedProductIndex(
+        WebClient.Builder webClientBuilder,
+        @Value("${inventory.blacklist.snapshot-uri}") String snapshotUri
+    ){
+        this.webClient = webClientBuilder.build();
+        this.snapshotUri = snapshotUri;
+    }
+    
+    public boolean isBlacklisted(String productCode){
+        return productCode != null && blacklistedProductCodes.contains(productCode);
+    }
+    
+    public void addAll(Collection<String> productCodes){
+        blacklistedProductCodes.addAll(productCodes);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot(){
+        // Entries are only ever added, so the snapshot can safely race with queue updates
+        webClient.get()
+            .uri(snapshotUri)
+            .retrieve()
+            .bodyToMono(BlacklistedProductsResponse.class)
+            .mapNotNull(BlacklistedProductsResponse::getProductIds)
+            .retryWhen(Retry.backoff(5, Duration.ofSeconds(2)))
+            .subscribe(
+                productCodes -> {
+                    addAll(productCodes);
+                    LOGGER.info("Loaded {} blacklisted products from snapshot", productCodes.size());
+                },
+                error -> LOGGER.warn("Unable to load blacklisted product snapshot, relying on queue updates", error)
+            );
+    }
+}
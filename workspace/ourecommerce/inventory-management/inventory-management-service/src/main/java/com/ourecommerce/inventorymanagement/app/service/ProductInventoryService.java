@@ -3,18 +3,36 @@ package com.ourecommerce.inventorymanagement.app.service;
 import com.ourecommerce.inventorymanagement.api.ProductInventoryResponse;
 import com.ourecommerce.inventorymanagement.api.ProductReservationRequest;
 import com.ourecommerce.inventorymanagement.api.ProductReservationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 @Service
 public class ProductInventoryService{
     
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductInventoryService.class);
+    
+    private final BlacklistedProductIndex blacklistedProductIndex;
+    
+    public ProductInventoryService(BlacklistedProductIndex blacklistedProductIndex){
+        this.blacklistedProductIndex = blacklistedProductIndex;
+    }
+    
     public ProductReservationResponse performReservation(ProductReservationRequest re){
-        System.out.println("Requester "+re);
-        return new ProductReservationResponse();
+        if(blacklistedProductIndex.isBlacklisted(re.getProductCode())){
+            return new ProductReservationResponse().setStatus("REJECTED");
+        }
+        
+        LOGGER.debug("Reserving {}", re);
+        return new ProductReservationResponse().setStatus("RESERVED");
     }
     
     public Mono<ProductInventoryResponse> getInventoryForProductWithCode(String productCode){
+        if(blacklistedProductIndex.isBlacklisted(productCode)){
+            return Mono.empty();
+        }
+        
         ProductInventoryResponse productInventory = new ProductInventoryResponse();
         productInventory.setProductCode(productCode)
             .setAvailableStock(10)
@@ -0,0 +1,100 @@
+package com.ourecommerce.inventorymanagement.app.service;
+
+import com.ourecommerce.inventorymanagement.api.ProductReservationRequest;
+import com.ourecommerce.inventorymanagement.api.ProductReservationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the blacklist check on the reservation path: reservations through {@link ProductInventoryService}
+ * with an empty and a large blacklist, against the same reservation without the check. Not part of the test
+ * run; after {@code mvn test-compile} run {@link #main} from the IDE, or {@code org.openjdk.jmh.Main} on the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ProductReservationBenchmark{
+    
+    private static final int REQUESTS = 1 << 12;
+    
+    @Param({"0", "1000000"})
+    private int blacklisted;
+    
+    private ProductInventoryService inventoryService;
+    private ProductReservationRequest[] requests;
+    
+    @Setup
+    public void setUp(){
+        BlacklistedProductIndex blacklistedProductIndex = new BlacklistedProductIndex(WebClient.builder(), "http://unused");
+        List<String> productCodes = new ArrayList<>(blacklisted);
+        for(int i = 0; i < blacklisted; i++){
+            productCodes.add(productCode(i));
+        }
+        blacklistedProductIndex.addAll(productCodes);
+        inventoryService = new ProductInventoryService(blacklistedProductIndex);
+        
+        // One request in a hundred is for a blacklisted product when there are any
+        requests = new ProductReservationRequest[REQUESTS];
+        for(int i = 0; i < REQUESTS; i++){
+            int product = i % 100 == 0 ? i : blacklisted + i;
+            requests[i] = new ProductReservationRequest().setProductCode(productCode(product)).setQuantity(1);
+        }
+    }
+    
+    @Benchmark
+    public ProductReservationResponse reserve(Cursor cursor){
+        return inventoryService.performReservation(requests[cursor.next()]);
+    }
+    
+    // The reservation as it was before the blacklist check, the baseline for the two above
+    @Benchmark
+    public ProductReservationResponse reserveWithoutBlacklistCheck(Cursor cursor, Blackhole blackhole){
+        blackhole.consume(requests[cursor.next()]);
+        return new ProductReservationResponse().setStatus("RESERVED");
+    }
+    
+    private static String productCode(int i){
+        return String.format("%024x", i);
+    }
+    
+    // Per thread, so the benchmark threads do not contend on the position
+    @State(Scope.Thread)
+    public static class Cursor{
+        
+        private int position;
+        
+        int next(){
+            return position++ & (REQUESTS - 1);
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException{
+        new Runner(new OptionsBuilder()
+            .include(ProductReservationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
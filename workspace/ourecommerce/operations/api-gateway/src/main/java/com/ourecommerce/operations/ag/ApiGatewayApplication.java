@@ -1,9 +1,14 @@
 package com.ourecommerce.operations.ag;
 
+import com.ourecommerce.operations.ag.loadbalancer.LeastLoadedLoadBalancerConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)
+@EnableScheduling
 public class ApiGatewayApplication{
     public static void main(String[] args) {
         SpringApplication.run(ApiGatewayApplication.class, args);
@@ -0,0 +1,61 @@
+package com.ourecommerce.operations.ag.catalog;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ourecommerce.inventorymanagement.api.ProductInventoryResponse;
+import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+
+public class CatalogItem{
+    
+    public static final String STOCK_AVAILABLE = "AVAILABLE";
+    public static final String STOCK_NOT_FOUND = "NOT_FOUND";
+    public static final String STOCK_UNAVAILABLE = "UNAVAILABLE";
+    
+    private ProductDetailsResponse product;
+    private ProductInventoryResponse inventory;
+    private String inventoryStatus;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean listingIncomplete;
+    
+    public ProductDetailsResponse getProduct(){
+        return product;
+    }
+    
+    public CatalogItem setProduct(ProductDetailsResponse product){
+        this.product = product;
+        return this;
+    }
+    
+    public ProductInventoryResponse getInventory(){
+        return inventory;
+    }
+    
+    public CatalogItem setInventory(ProductInventoryResponse inventory){
+        this.inventory = inventory;
+        return this;
+    }
+    
+    /**
+     * {@link #STOCK_UNAVAILABLE} when inventory-management failed or timed out, so clients can tell a partial
+     * result from a product without stock.
+     */
+    public String getInventoryStatus(){
+        return inventoryStatus;
+    }
+    
+    public CatalogItem setInventoryStatus(String inventoryStatus){
+        this.inventoryStatus = inventoryStatus;
+        return this;
+    }
+    
+    /**
+     * Set only on the trailing item of a view whose product listing failed part way; that item has no product.
+     */
+    public Boolean getListingIncomplete(){
+        return listingIncomplete;
+    }
+    
+    public CatalogItem setListingIncomplete(Boolean listingIncomplete){
+        this.listingIncomplete = listingIncomplete;
+        return this;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ourecommerce.operations.ag.catalog;
+
+import com.ourecommerce.operations.ag.ratelimit.ClientKeyResolver;
+import com.ourecommerce.operations.ag.ratelimit.InMemoryRateLimiter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Served by the gateway itself rather than through a route, so it charges the route filters' rate limit here:
+ * one token for the listing plus one per inventory lookup the page fans out to.
+ */
+@RestController
+@RequestMapping("/catalog-view")
+public class CatalogViewController{
+    
+    static final String RATE_LIMIT_ROUTE_ID = "catalog-view";
+    
+    private final CatalogViewService catalogViewService;
+    private final ClientKeyResolver clientKeyResolver;
+    private final InMemoryRateLimiter rateLimiter;
+    
+    public CatalogViewController(
+        CatalogViewService catalogViewService,
+        ClientKeyResolver clientKeyResolver,
+        InMemoryRateLimiter rateLimiter
+    ){
+        this.catalogViewService = catalogViewService;
+        this.clientKeyResolver = clientKeyResolver;
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Flux<CatalogItem>>> getCatalogView(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status,
+        @RequestParam(name = "limit", defaultValue = "50") int limit,
+        ServerWebExchange exchange){
+        int pageSize = catalogViewService.pageSize(limit);
+        return clientKeyResolver.resolve(exchange)
+            .flatMap(clientKey -> rateLimiter.isAllowed(RATE_LIMIT_ROUTE_ID, clientKey, 1 + pageSize))
+            .map(response -> {
+                ResponseEntity.BodyBuilder builder = ResponseEntity
+                    .status(response.isAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS);
+                response.getHeaders().forEach(builder::header);
+                return response.isAllowed()
+                    ? builder.body(catalogViewService.getCatalogView(after, status, pageSize))
+                    : builder.build();
+            });
+    }
+}
@@ -0,0 +1,120 @@
+package com.ourecommerce.operations.ag.catalog;
+
+import com.ourecommerce.inventorymanagement.api.ProductInventoryResponse;
+import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds the catalog view in one hop: reads a page of products, then looks up the stock of each with a
+ * bounded number of inventory calls in flight, keeping the product order.
+ */
+@Service
+public class CatalogViewService{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogViewService.class);
+    
+    private final WebClient webClient;
+    private final int concurrency;
+    private final int maxPageSize;
+    private final Duration productTimeout;
+    private final Duration inventoryTimeout;
+    
+    public CatalogViewService(
+        WebClient.Builder webClientBuilder,
+        LoadBalancedExchangeFilterFunction loadBalancerFunction,
+        @Value("${gateway.catalog-view.concurrency:16}") int concurrency,
+        @Value("${gateway.catalog-view.max-page-size:200}") int maxPageSize,
+        @Value("${gateway.catalog-view.product-timeout:2s}") Duration productTimeout,
+        @Value("${gateway.catalog-view.inventory-timeout:500ms}") Duration inventoryTimeout
+    ){
+        this.webClient = webClientBuilder.filter(loadBalancerFunction).build();
+        this.concurrency = concurrency;
+        this.maxPageSize = maxPageSize;
+        this.productTimeout = productTimeout;
+        this.inventoryTimeout = inventoryTimeout;
+    }
+    
+    public int pageSize(int limit){
+        return Math.min(Math.max(limit, 1), maxPageSize);
+    }
+    
+    /**
+     * When the product listing fails before any product arrived the view fails with it. When it fails part
+     * way, the products received so far are returned followed by an item flagged as listing incomplete.
+     */
+    public Flux<CatalogItem> getCatalogView(String after, String status, int pageSize){
+        return Flux.defer(() -> {
+            AtomicBoolean received = new AtomicBoolean();
+            return getProducts(after, status, pageSize)
+                .doOnNext(product -> received.set(true))
+                // Delaying the listing error lets the lookups already in flight finish first
+                .flatMapSequentialDelayError(this::withInventory, concurrency, Queues.XS_BUFFER_SIZE)
+                .onErrorResume(error -> {
+                    if(!received.get()){
+                        return Flux.error(listingFailure(error));
+                    }
+                    LOGGER.warn("Product listing incomplete: {}", error.toString());
+                    return Flux.just(new CatalogItem().setListingIncomplete(true));
+                });
+        });
+    }
+    
+    private Flux<ProductDetailsResponse> getProducts(String after, String status, int limit){
+        return webClient.get()
+            .uri("http://PRODUCT-MANAGEMENT/products", uri -> uri
+                .queryParam("limit", limit)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .build())
+            .retrieve()
+            .bodyToFlux(ProductDetailsResponse.class)
+            .timeout(productTimeout);
+    }
+    
+    // Client errors of product-management are the caller's, anything else is the gateway's upstream failing
+    private static ResponseStatusException listingFailure(Throwable error){
+        if(error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()){
+            return new ResponseStatusException(response.getStatusCode(), response.getStatusText(), error);
+        }
+        LOGGER.warn("Product listing failed: {}", error.toString());
+        HttpStatus status = error instanceof TimeoutException ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+        return new ResponseStatusException(status, "Product listing unavailable", error);
+    }
+    
+    private Mono<CatalogItem> withInventory(ProductDetailsResponse product){
+        return webClient.get()
+            .uri("http://inventory-management/product-inventory/{productCode}", product.getProductCode())
+            .retrieve()
+            .bodyToMono(ProductInventoryResponse.class)
+            .timeout(inventoryTimeout)
+            .map(inventory -> new CatalogItem()
+                .setProduct(product)
+                .setInventory(inventory)
+                .setInventoryStatus(CatalogItem.STOCK_AVAILABLE))
+            .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.just(new CatalogItem()
+                .setProduct(product)
+                .setInventoryStatus(CatalogItem.STOCK_NOT_FOUND)))
+            .onErrorResume(error -> {
+                LOGGER.debug("Inventory of {} unavailable: {}", product.getProductCode(), error.toString());
+                return Mono.just(new CatalogItem()
+                    .setProduct(product)
+                    .setInventoryStatus(CatalogItem.STOCK_UNAVAILABLE));
+            });
+    }
+}
@@ -0,0 +1,81 @@
+package com.ourecommerce.operations.ag.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets only one of several concurrent identical GETs reach the backend. The others wait for it to finish
+ * and then continue down the chain, where the {@code LocalResponseCache} filter that follows answers them.
+ */
+@Component
+public class CollapseRequestsGatewayFilterFactory extends AbstractGatewayFilterFactory<CollapseRequestsGatewayFilterFactory.Config>{
+    
+    // Runs just before LocalResponseCache, so followers look the cache up again once the leader is done
+    static final int ORDER = -5;
+    
+    private final Map<String, Sinks.Empty<Void>> inFlightRequests = new ConcurrentHashMap<>();
+    
+    public CollapseRequestsGatewayFilterFactory(){
+        super(Config.class);
+    }
+    
+    @Override
+    public List<String> shortcutFieldOrder(){
+        return List.of("timeout");
+    }
+    
+    @Override
+    public GatewayFilter apply(Config config){
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if(!HttpMethod.GET.equals(request.getMethod())){
+                return chain.filter(exchange);
+            }
+            
+            String key = keyOf(request);
+            Sinks.Empty<Void> leader = Sinks.empty();
+            Sinks.Empty<Void> inFlight = inFlightRequests.putIfAbsent(key, leader);
+            if(inFlight == null){
+                return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        inFlightRequests.remove(key, leader);
+                        leader.tryEmitEmpty();
+                    });
+            }
+            return inFlight.asMono()
+                .timeout(config.getTimeout(), Mono.empty())
+                .then(Mono.defer(() -> chain.filter(exchange)));
+        }, ORDER);
+    }
+    
+    private static String keyOf(ServerHttpRequest request){
+        HttpHeaders headers = request.getHeaders();
+        return request.getURI() + "|" + headers.getAccept() + "|" + headers.getFirst(HttpHeaders.AUTHORIZATION);
+    }
+    
+    public static class Config{
+        
+        private Duration timeout = Duration.ofSeconds(5);
+        
+        public Duration getTimeout(){
+            return timeout;
+        }
+        
+        public Config setTimeout(Duration timeout){
+            this.timeout = timeout;
+            return this;
+        }
+    }
+}
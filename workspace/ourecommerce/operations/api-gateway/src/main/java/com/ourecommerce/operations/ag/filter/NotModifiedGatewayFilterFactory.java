@@ -0,0 +1,67 @@
+package com.ourecommerce.operations.ag.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Answers {@code If-None-Match} with 304 when the response about to be written, typically one served from
+ * the gateway cache, still carries a matching {@code ETag}.
+ */
+@Component
+public class NotModifiedGatewayFilterFactory extends AbstractGatewayFilterFactory<Object>{
+    
+    static final int ORDER = CollapseRequestsGatewayFilterFactory.ORDER - 1;
+    
+    @Override
+    public GatewayFilter apply(Object config){
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+            if(ifNoneMatch.isEmpty()){
+                return chain.filter(exchange);
+            }
+            
+            ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()){
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body){
+                    if(!HttpStatus.OK.equals(getStatusCode()) || !matches(ifNoneMatch, getHeaders().getETag())){
+                        return super.writeWith(body);
+                    }
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                    return Flux.from(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(setComplete());
+                }
+            };
+            return chain.filter(exchange.mutate().response(response).build());
+        }, ORDER);
+    }
+    
+    // If-None-Match uses weak comparison, so W/ prefixes are ignored on both sides
+    private static boolean matches(List<String> ifNoneMatch, String etag){
+        if(etag == null){
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        return ifNoneMatch.stream()
+            .anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(opaqueTag));
+    }
+    
+    private static String stripWeak(String etag){
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ourecommerce.operations.ag.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds headers to the upstream response's {@code Vary} before {@code LocalResponseCache} stores it, so the
+ * cache keeps one entry per representation even when the backend does not declare what it negotiated on.
+ */
+@Component
+public class VaryGatewayFilterFactory extends AbstractGatewayFilterFactory<VaryGatewayFilterFactory.Config>{
+    
+    // Runs just after LocalResponseCache, so its decorator sees the header when the response is saved
+    static final int ORDER = -3;
+    
+    public VaryGatewayFilterFactory(){
+        super(Config.class);
+    }
+    
+    @Override
+    public ShortcutType shortcutType(){
+        return ShortcutType.GATHER_LIST;
+    }
+    
+    @Override
+    public List<String> shortcutFieldOrder(){
+        return List.of("headers");
+    }
+    
+    @Override
+    public GatewayFilter apply(Config config){
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()){
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body){
+                    addVary(getHeaders(), config.getHeaders());
+                    return super.writeWith(body);
+                }
+                
+                @Override
+                public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body){
+                    addVary(getHeaders(), config.getHeaders());
+                    return super.writeAndFlushWith(body);
+                }
+                
+                @Override
+                public Mono<Void> setComplete(){
+                    addVary(getHeaders(), config.getHeaders());
+                    return super.setComplete();
+                }
+            };
+            return chain.filter(exchange.mutate().response(response).build());
+        }, ORDER);
+    }
+    
+    private static void addVary(HttpHeaders headers, List<String> varyOn){
+        List<String> vary = new ArrayList<>(headers.getVary());
+        if(vary.contains("*")){
+            return;
+        }
+        for(String header : varyOn){
+            if(vary.stream().noneMatch(header::equalsIgnoreCase)){
+                vary.add(header);
+            }
+        }
+        headers.setVary(vary);
+    }
+    
+    public static class Config{
+        
+        private List<String> headers = new ArrayList<>();
+        
+        public List<String> getHeaders(){
+            return headers;
+        }
+        
+        public Config setHeaders(List<String> headers){
+            this.headers = headers;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ourecommerce.operations.ag.http;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Replaces the gateway's routing filter, which is switched off with
+ * {@code spring.cloud.gateway.global-filter.netty-routing.enabled=false}. That switch also drops the filter
+ * writing the backend response back to the client, so it is registered here as well.
+ */
+@Configuration
+public class HttpClientConfiguration{
+    
+    @Bean
+    public RoutePoolsNettyRoutingFilter routePoolsNettyRoutingFilter(
+        HttpClient httpClient,
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+        HttpClientProperties properties,
+        ServerProperties serverProperties,
+        HttpClientSslConfigurer sslConfigurer,
+        List<HttpClientCustomizer> customizers){
+        return new RoutePoolsNettyRoutingFilter(httpClient, headersFilters, properties, serverProperties,
+            sslConfigurer, customizers);
+    }
+    
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties properties){
+        return new NettyWriteResponseFilter(properties.getStreamingMediaTypes());
+    }
+}
@@ -0,0 +1,40 @@
+package com.ourecommerce.operations.ag.http;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+/**
+ * Builds clients configured exactly like the gateway's shared one (SSL, proxy, decoder, customizers) but on top of
+ * a connection pool of their own.
+ */
+class RouteHttpClientFactory extends HttpClientFactory{
+    
+    private final ConnectionProvider connectionProvider;
+    
+    RouteHttpClientFactory(
+        HttpClientProperties properties,
+        ServerProperties serverProperties,
+        HttpClientSslConfigurer sslConfigurer,
+        List<HttpClientCustomizer> customizers,
+        ConnectionProvider connectionProvider
+    ){
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.connectionProvider = connectionProvider;
+    }
+    
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties){
+        return connectionProvider;
+    }
+    
+    HttpClient create(){
+        return createInstance();
+    }
+}
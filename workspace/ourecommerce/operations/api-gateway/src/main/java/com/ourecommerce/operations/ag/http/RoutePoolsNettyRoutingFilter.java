@@ -0,0 +1,115 @@
+package com.ourecommerce.operations.ag.http;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+/**
+ * Routing filter that lets a route opt out of the shared connection pool through its metadata:
+ * {@code max-connections} gives the route a pool of that size, so a busy backend cannot starve the others, and
+ * {@code h2c: true} upgrades its connections to cleartext HTTP/2, multiplexing requests over a few sockets.
+ * Route pools inherit the timeouts and metrics setting of {@code spring.cloud.gateway.httpclient.pool} and are
+ * built once per route id.
+ */
+public class RoutePoolsNettyRoutingFilter extends NettyRoutingFilter implements DisposableBean{
+    
+    public static final String MAX_CONNECTIONS_ATTR = "max-connections";
+    public static final String H2C_ATTR = "h2c";
+    
+    private final HttpClient httpClient;
+    private final HttpClientProperties properties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final List<HttpClientCustomizer> customizers;
+    private final Map<String, HttpClient> routeClients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> routePools = new ConcurrentHashMap<>();
+    
+    public RoutePoolsNettyRoutingFilter(
+        HttpClient httpClient,
+        ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+        HttpClientProperties properties,
+        ServerProperties serverProperties,
+        HttpClientSslConfigurer sslConfigurer,
+        List<HttpClientCustomizer> customizers
+    ){
+        super(httpClient, headersFiltersProvider, properties);
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+    }
+    
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange){
+        Map<String, Object> metadata = route.getMetadata();
+        HttpClient client = metadata.containsKey(MAX_CONNECTIONS_ATTR) || metadata.containsKey(H2C_ATTR)
+            ? routeClients.computeIfAbsent(route.getId(), id -> createRouteClient(id, metadata))
+            : httpClient;
+        Object connectTimeout = metadata.get(CONNECT_TIMEOUT_ATTR);
+        if(connectTimeout != null){
+            return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client;
+    }
+    
+    private HttpClient createRouteClient(String routeId, Map<String, Object> metadata){
+        HttpClientProperties.Pool pool = properties.getPool();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("route-" + routeId)
+            .maxConnections(intValue(metadata.get(MAX_CONNECTIONS_ATTR), pool.getMaxConnections()))
+            .metrics(pool.isMetrics());
+        if(pool.getAcquireTimeout() != null){
+            builder.pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+        }
+        if(pool.getMaxIdleTime() != null){
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if(pool.getMaxLifeTime() != null){
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        if(pool.getEvictionInterval() != null && !pool.getEvictionInterval().isZero()){
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+        ConnectionProvider connectionProvider = builder.build();
+        routePools.put(routeId, connectionProvider);
+        
+        HttpClient client = new RouteHttpClientFactory(properties, serverProperties, sslConfigurer, customizers,
+            connectionProvider).create();
+        if(Boolean.parseBoolean(String.valueOf(metadata.get(H2C_ATTR)))){
+            // Listing HTTP/1.1 as well makes the client negotiate through an Upgrade request, so backends that do
+            // not speak h2c keep working
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+    
+    private static int intValue(Object value, Integer fallback){
+        if(value != null){
+            return Integer.parseInt(value.toString());
+        }
+        return fallback != null ? fallback : ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+    }
+    
+    @Override
+    public void destroy(){
+        routePools.values().forEach(ConnectionProvider::dispose);
+    }
+}
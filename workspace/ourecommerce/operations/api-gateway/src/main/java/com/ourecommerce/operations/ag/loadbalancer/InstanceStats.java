@@ -0,0 +1,145 @@
+package com.ourecommerce.operations.ag.loadbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the gateway has observed of one service instance: requests in flight, a peak-sensitive moving average
+ * of its latency, and whether it is currently ejected or ramping back up after an ejection.
+ */
+class InstanceStats{
+    
+    // Start time of each request in flight, by load balancer request identity
+    private final Map<InFlightRequest, Long> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastSeen;
+    private double latencyNanos;
+    private long lastSampleAt;
+    private int samples;
+    private int consecutiveFailures;
+    private int ejections;
+    private boolean ejected;
+    private long ejectedUntil;
+    private boolean recovering;
+    private long reinstatedAt;
+    
+    void started(Object request, long now){
+        inFlight.put(new InFlightRequest(request), now);
+    }
+    
+    void finished(Object request){
+        inFlight.remove(new InFlightRequest(request));
+    }
+    
+    int outstanding(){
+        return inFlight.size();
+    }
+    
+    /**
+     * Forgets requests started more than {@code timeoutNanos} ago. The load balancer lifecycle never reports
+     * cancelled requests, such as client disconnects or timeouts, so they would otherwise count forever.
+     */
+    void expireInFlight(long now, long timeoutNanos){
+        inFlight.values().removeIf(startedAt -> now - startedAt > timeoutNanos);
+    }
+    
+    void seen(long now){
+        lastSeen = now;
+    }
+    
+    long lastSeen(){
+        return lastSeen;
+    }
+    
+    /**
+     * Slower samples are taken as they come, faster ones only pull the average down over {@code decayNanos},
+     * so an instance that starts stalling stops attracting traffic on the first slow response.
+     */
+    synchronized void recordLatency(long nanos, long now, long decayNanos){
+        if(samples++ == 0 || nanos > latencyNanos){
+            latencyNanos = nanos;
+        }else{
+            double weight = Math.exp(-(double) Math.max(now - lastSampleAt, 0) / decayNanos);
+            latencyNanos = latencyNanos * weight + nanos * (1 - weight);
+        }
+        lastSampleAt = now;
+    }
+    
+    synchronized double latencyMillis(){
+        return latencyNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+    
+    synchronized int samples(){
+        return samples;
+    }
+    
+    synchronized int recordFailure(){
+        return ++consecutiveFailures;
+    }
+    
+    synchronized void recordSuccess(){
+        consecutiveFailures = 0;
+    }
+    
+    /**
+     * Each ejection in a row lasts one more {@code baseNanos}, up to {@code maxNanos}. An instance that stayed in
+     * rotation for longer than {@code maxNanos} starts again from the base time.
+     */
+    synchronized void eject(long now, long baseNanos, long maxNanos){
+        if(now - ejectedUntil > maxNanos){
+            ejections = 0;
+        }
+        ejections++;
+        ejected = true;
+        ejectedUntil = now + Math.min(baseNanos * ejections, maxNanos);
+    }
+    
+    /**
+     * Share of the traffic this instance may be offered: none while ejected, then rising linearly from zero to
+     * all of it over {@code slowStartNanos} once it is back.
+     */
+    synchronized double admission(long now, long slowStartNanos){
+        if(ejected){
+            if(now - ejectedUntil < 0){
+                return 0;
+            }
+            ejected = false;
+            recovering = true;
+            reinstatedAt = now;
+            consecutiveFailures = 0;
+            samples = 0;
+            latencyNanos = 0;
+        }
+        if(recovering){
+            long elapsed = now - reinstatedAt;
+            if(elapsed < slowStartNanos){
+                return (double) elapsed / slowStartNanos;
+            }
+            recovering = false;
+        }
+        return 1;
+    }
+    
+    synchronized boolean isEjected(long now){
+        return ejected && now - ejectedUntil < 0;
+    }
+    
+    private static final class InFlightRequest{
+        
+        private final Object request;
+        
+        private InFlightRequest(Object request){
+            this.request = request;
+        }
+        
+        @Override
+        public boolean equals(Object other){
+            return other instanceof InFlightRequest inFlightRequest && inFlightRequest.request == request;
+        }
+        
+        @Override
+        public int hashCode(){
+            return System.identityHashCode(request);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ourecommerce.operations.ag.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices: of two random instances that outlier detection lets through, the one with the lower
+ * latency times outstanding requests gets the request. Comparing only two keeps the choice cheap and avoids the
+ * whole gateway piling onto the same "best" instance between two updates of the statistics.
+ */
+public class LeastLoadedLoadBalancer implements ReactorServiceInstanceLoadBalancer{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeastLoadedLoadBalancer.class);
+    
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final OutlierDetector outlierDetector;
+    
+    public LeastLoadedLoadBalancer(
+        ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+        String serviceId,
+        OutlierDetector outlierDetector
+    ){
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.outlierDetector = outlierDetector;
+    }
+    
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request){
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+            .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if(supplier instanceof SelectedInstanceCallback callback && response.hasServer()){
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+    
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances){
+        if(instances.isEmpty()){
+            LOGGER.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> candidates = outlierDetector.available(instances);
+        if(candidates.size() == 1){
+            return new DefaultResponse(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if(second >= first){
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(outlierDetector.cost(a) <= outlierDetector.cost(b) ? a : b);
+    }
+}
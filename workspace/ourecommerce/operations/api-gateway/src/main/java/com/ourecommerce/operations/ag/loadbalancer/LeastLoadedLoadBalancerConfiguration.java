@@ -0,0 +1,24 @@
+package com.ourecommerce.operations.ag.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-client load balancer configuration, registered as the default of every load balancer client. It only
+ * replaces the balancing policy, so instance suppliers such as the health-check one still apply.
+ */
+public class LeastLoadedLoadBalancerConfiguration{
+    
+    @Bean
+    ReactorLoadBalancer<ServiceInstance> leastLoadedLoadBalancer(
+        Environment environment, LoadBalancerClientFactory loadBalancerClientFactory, OutlierDetector outlierDetector){
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastLoadedLoadBalancer(loadBalancerClientFactory
+            .getLazyProvider(name, ServiceInstanceListSupplier.class),
+            name, outlierDetector);
+    }
+}
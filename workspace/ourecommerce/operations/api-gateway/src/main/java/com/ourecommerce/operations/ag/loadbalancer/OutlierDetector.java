@@ -0,0 +1,397 @@
+package com.ourecommerce.operations.ag.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Passive health tracking of every load balanced instance. It sees each routed request through the load
+ * balancer lifecycle, and ejects an instance after a run of 5xx responses or connection failures, or when its
+ * latency stands out from the rest of its service. Ejected instances come back after a growing ejection time
+ * and are then offered a gradually increasing share of the traffic. Instances that drop out of discovery are
+ * forgotten, together with their gauges, once they have not been offered for a while.
+ */
+@Component
+public class OutlierDetector implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance>, SchedulingConfigurer{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutlierDetector.class);
+    private static final String INSTANCE_METER_PREFIX = "gateway.loadbalancer.instance.";
+    private static final Duration SWEEP_INTERVAL = Duration.ofSeconds(5);
+    
+    private final Map<String, Map<String, InstanceStats>> statsByService = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    
+    @Autowired
+    public OutlierDetector(
+        MeterRegistry meterRegistry,
+        @Value("${gateway.load-balancer.latency-decay:10s}") Duration latencyDecay,
+        @Value("${gateway.load-balancer.consecutive-errors:5}") int consecutiveErrors,
+        @Value("${gateway.load-balancer.failure-penalty:1s}") Duration failurePenalty,
+        @Value("${gateway.load-balancer.latency-outlier-factor:3.0}") double latencyOutlierFactor,
+        @Value("${gateway.load-balancer.latency-outlier-floor:200ms}") Duration latencyOutlierFloor,
+        @Value("${gateway.load-balancer.latency-outlier-minimum-requests:20}") int latencyOutlierMinimumRequests,
+        @Value("${gateway.load-balancer.base-ejection-time:30s}") Duration baseEjectionTime,
+        @Value("${gateway.load-balancer.max-ejection-time:5m}") Duration maxEjectionTime,
+        @Value("${gateway.load-balancer.max-ejection-percent:50}") int maxEjectionPercent,
+        @Value("${gateway.load-balancer.slow-start-window:30s}") Duration slowStartWindow,
+        @Value("${gateway.load-balancer.in-flight-timeout:1m}") Duration inFlightTimeout,
+        @Value("${gateway.load-balancer.instance-retention:10m}") Duration instanceRetention
+    ){
+        this(meterRegistry, new Settings()
+            .setLatencyDecay(latencyDecay)
+            .setConsecutiveErrors(consecutiveErrors)
+            .setFailurePenalty(failurePenalty)
+            .setLatencyOutlierFactor(latencyOutlierFactor)
+            .setLatencyOutlierFloor(latencyOutlierFloor)
+            .setLatencyOutlierMinimumRequests(latencyOutlierMinimumRequests)
+            .setBaseEjectionTime(baseEjectionTime)
+            .setMaxEjectionTime(maxEjectionTime)
+            .setMaxEjectionPercent(maxEjectionPercent)
+            .setSlowStartWindow(slowStartWindow)
+            .setInFlightTimeout(inFlightTimeout)
+            .setInstanceRetention(instanceRetention), System::nanoTime);
+    }
+    
+    OutlierDetector(MeterRegistry meterRegistry, Settings settings, LongSupplier nanoClock){
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+    }
+    
+    @Override
+    public void onStart(Request<RequestDataContext> request){
+    }
+    
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse){
+        if(!lbResponse.hasServer()){
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        request.getContext().setRequestStartTime(now);
+        statsOf(lbResponse.getServer()).started(request, now);
+    }
+    
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext){
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if(completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()){
+            return;
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStats stats = statsOf(instance);
+        stats.finished(completionContext.getLoadBalancerRequest());
+        
+        long now = nanoClock.getAsLong();
+        long startedAt = completionContext.getLoadBalancerRequest().getContext().getRequestStartTime();
+        ResponseData response = completionContext.getClientResponse();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+            || response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+        
+        if(failed){
+            // Failures are often fast, counting them as slow keeps a broken instance from looking like the best one
+            long elapsed = startedAt > 0 ? now - startedAt : 0;
+            stats.recordLatency(Math.max(elapsed, settings.getFailurePenalty().toNanos()), now, settings.getLatencyDecay().toNanos());
+            if(stats.recordFailure() >= settings.getConsecutiveErrors()){
+                tryEject(instance, stats, now, "errors");
+            }
+            return;
+        }
+        stats.recordSuccess();
+        if(startedAt > 0){
+            stats.recordLatency(now - startedAt, now, settings.getLatencyDecay().toNanos());
+            if(isLatencyOutlier(instance, stats, now)){
+                tryEject(instance, stats, now, "latency");
+            }
+        }
+    }
+    
+    /**
+     * Instances that may take the next request, each kept with the probability of its slow start admission.
+     * When everything is ejected the full list is returned, since a degraded instance beats no instance.
+     */
+    List<ServiceInstance> available(List<ServiceInstance> instances){
+        long now = nanoClock.getAsLong();
+        long slowStart = settings.getSlowStartWindow().toNanos();
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        for(ServiceInstance instance : instances){
+            InstanceStats stats = statsOf(instance);
+            stats.seen(now);
+            double admission = stats.admission(now, slowStart);
+            if(admission >= 1 || admission > 0 && ThreadLocalRandom.current().nextDouble() < admission){
+                available.add(instance);
+            }
+        }
+        return available.isEmpty() ? instances : available;
+    }
+    
+    /**
+     * Expected wait for a new request on this instance: its latency estimate (plus a millisecond, so instances
+     * without samples still compare by load) scaled by the requests already queued on it.
+     */
+    double cost(ServiceInstance instance){
+        InstanceStats stats = statsOf(instance);
+        return (stats.latencyMillis() + 1) * (stats.outstanding() + 1);
+    }
+    
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar){
+        taskRegistrar.addFixedDelayTask(this::sweep, SWEEP_INTERVAL);
+    }
+    
+    /**
+     * Expires in-flight requests that never completed and drops instances that have not been offered by
+     * discovery within the retention, so neither stale load nor departed instances' gauges linger.
+     */
+    void sweep(){
+        long now = nanoClock.getAsLong();
+        long inFlightTimeout = settings.getInFlightTimeout().toNanos();
+        long retention = settings.getInstanceRetention().toNanos();
+        statsByService.forEach((service, peers) -> {
+            for(String key : peers.keySet()){
+                peers.computeIfPresent(key, (k, stats) -> {
+                    if(now - stats.lastSeen() <= retention){
+                        stats.expireInFlight(now, inFlightTimeout);
+                        return stats;
+                    }
+                    removeMeters(service, k);
+                    return null;
+                });
+            }
+        });
+    }
+    
+    private boolean isLatencyOutlier(ServiceInstance instance, InstanceStats stats, long now){
+        if(stats.samples() < settings.getLatencyOutlierMinimumRequests()){
+            return false;
+        }
+        double latency = stats.latencyMillis();
+        if(latency < settings.getLatencyOutlierFloor().toMillis()){
+            return false;
+        }
+        double fastestPeer = Double.MAX_VALUE;
+        for(InstanceStats peer : serviceStats(instance).values()){
+            if(peer != stats && !peer.isEjected(now) && peer.samples() > 0){
+                fastestPeer = Math.min(fastestPeer, peer.latencyMillis());
+            }
+        }
+        return fastestPeer != Double.MAX_VALUE && latency > fastestPeer * settings.getLatencyOutlierFactor();
+    }
+    
+    private void tryEject(ServiceInstance instance, InstanceStats stats, long now, String reason){
+        Map<String, InstanceStats> peers = serviceStats(instance);
+        synchronized(peers){
+            if(stats.isEjected(now)){
+                return;
+            }
+            long ejected = peers.values().stream().filter(peer -> peer.isEjected(now)).count();
+            if((ejected + 1) * 100 > (long) settings.getMaxEjectionPercent() * peers.size()){
+                return;
+            }
+            stats.eject(now, settings.getBaseEjectionTime().toNanos(), settings.getMaxEjectionTime().toNanos());
+        }
+        LOGGER.warn("Ejected {} of {} because of {}", instanceKey(instance), instance.getServiceId(), reason);
+        Counter.builder("gateway.loadbalancer.ejections")
+            .description("Instances taken out of rotation by outlier detection")
+            .tag("service", instance.getServiceId())
+            .tag("instance", instanceKey(instance))
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    InstanceStats statsOf(ServiceInstance instance){
+        return serviceStats(instance).computeIfAbsent(instanceKey(instance), key -> {
+            InstanceStats stats = new InstanceStats();
+            stats.seen(nanoClock.getAsLong());
+            return register(instance, stats);
+        });
+    }
+    
+    private Map<String, InstanceStats> serviceStats(ServiceInstance instance){
+        return statsByService.computeIfAbsent(instance.getServiceId(), serviceId -> new ConcurrentHashMap<>());
+    }
+    
+    private InstanceStats register(ServiceInstance instance, InstanceStats stats){
+        String service = instance.getServiceId();
+        String key = instanceKey(instance);
+        Gauge.builder("gateway.loadbalancer.instance.latency", stats, InstanceStats::latencyMillis)
+            .description("Peak-sensitive moving average of the instance's response time")
+            .baseUnit("milliseconds")
+            .tag("service", service)
+            .tag("instance", key)
+            .register(meterRegistry);
+        Gauge.builder("gateway.loadbalancer.instance.outstanding", stats, InstanceStats::outstanding)
+            .description("Requests in flight to the instance")
+            .tag("service", service)
+            .tag("instance", key)
+            .register(meterRegistry);
+        Gauge.builder("gateway.loadbalancer.instance.ejected", stats, s -> s.isEjected(nanoClock.getAsLong()) ? 1 : 0)
+            .description("1 while the instance is ejected by outlier detection")
+            .tag("service", service)
+            .tag("instance", key)
+            .register(meterRegistry);
+        return stats;
+    }
+    
+    private void removeMeters(String service, String instance){
+        for(Meter meter : Search.in(meterRegistry).tags("service", service, "instance", instance).meters()){
+            if(meter.getId().getName().startsWith(INSTANCE_METER_PREFIX)){
+                meterRegistry.remove(meter);
+            }
+        }
+    }
+    
+    private static String instanceKey(ServiceInstance instance){
+        return instance.getHost() + ':' + instance.getPort();
+    }
+    
+    static class Settings{
+        private Duration latencyDecay = Duration.ofSeconds(10);
+        private int consecutiveErrors = 5;
+        private Duration failurePenalty = Duration.ofSeconds(1);
+        private double latencyOutlierFactor = 3.0;
+        private Duration latencyOutlierFloor = Duration.ofMillis(200);
+        private int latencyOutlierMinimumRequests = 20;
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        private int maxEjectionPercent = 50;
+        private Duration slowStartWindow = Duration.ofSeconds(30);
+        private Duration inFlightTimeout = Duration.ofMinutes(1);
+        private Duration instanceRetention = Duration.ofMinutes(10);
+        
+        public Duration getLatencyDecay(){
+            return latencyDecay;
+        }
+        
+        public Settings setLatencyDecay(Duration latencyDecay){
+            this.latencyDecay = latencyDecay;
+            return this;
+        }
+        
+        public int getConsecutiveErrors(){
+            return consecutiveErrors;
+        }
+        
+        public Settings setConsecutiveErrors(int consecutiveErrors){
+            this.consecutiveErrors = consecutiveErrors;
+            return this;
+        }
+        
+        public Duration getFailurePenalty(){
+            return failurePenalty;
+        }
+        
+        public Settings setFailurePenalty(Duration failurePenalty){
+            this.failurePenalty = failurePenalty;
+            return this;
+        }
+        
+        public double getLatencyOutlierFactor(){
+            return latencyOutlierFactor;
+        }
+        
+        public Settings setLatencyOutlierFactor(double latencyOutlierFactor){
+            this.latencyOutlierFactor = latencyOutlierFactor;
+            return this;
+        }
+        
+        public Duration getLatencyOutlierFloor(){
+            return latencyOutlierFloor;
+        }
+        
+        public Settings setLatencyOutlierFloor(Duration latencyOutlierFloor){
+            this.latencyOutlierFloor = latencyOutlierFloor;
+            return this;
+        }
+        
+        public int getLatencyOutlierMinimumRequests(){
+            return latencyOutlierMinimumRequests;
+        }
+        
+        public Settings setLatencyOutlierMinimumRequests(int latencyOutlierMinimumRequests){
+            this.latencyOutlierMinimumRequests = latencyOutlierMinimumRequests;
+            return this;
+        }
+        
+        public Duration getBaseEjectionTime(){
+            return baseEjectionTime;
+        }
+        
+        public Settings setBaseEjectionTime(Duration baseEjectionTime){
+            this.baseEjectionTime = baseEjectionTime;
+            return this;
+        }
+        
+        public Duration getMaxEjectionTime(){
+            return maxEjectionTime;
+        }
+        
+        public Settings setMaxEjectionTime(Duration maxEjectionTime){
+            this.maxEjectionTime = maxEjectionTime;
+            return this;
+        }
+        
+        public int getMaxEjectionPercent(){
+            return maxEjectionPercent;
+        }
+        
+        public Settings setMaxEjectionPercent(int maxEjectionPercent){
+            this.maxEjectionPercent = maxEjectionPercent;
+            return this;
+        }
+        
+        public Duration getSlowStartWindow(){
+            return slowStartWindow;
+        }
+        
+        public Settings setSlowStartWindow(Duration slowStartWindow){
+            this.slowStartWindow = slowStartWindow;
+            return this;
+        }
+        
+        public Duration getInFlightTimeout(){
+            return inFlightTimeout;
+        }
+        
+        public Settings setInFlightTimeout(Duration inFlightTimeout){
+            this.inFlightTimeout = inFlightTimeout;
+            return this;
+        }
+        
+        public Duration getInstanceRetention(){
+            return instanceRetention;
+        }
+        
+        public Settings setInstanceRetention(Duration instanceRetention){
+            this.instanceRetention = instanceRetention;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ourecommerce.operations.ag.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling latency and error window of one route. Requests go into an HdrHistogram {@link Recorder}, which records
+ * without locking or allocating; every bucket interval the recorded histogram is swapped out into a ring that
+ * holds the window.
+ */
+class RouteSlo{
+    
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    
+    private final Recorder recorder = new Recorder(1, HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final Histogram[] buckets;
+    private final long[] bucketErrors;
+    private int next;
+    
+    RouteSlo(int windowBuckets){
+        this.buckets = new Histogram[windowBuckets];
+        this.bucketErrors = new long[windowBuckets];
+    }
+    
+    void record(long nanos, boolean error){
+        recorder.recordValue(Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_MICROS));
+        if(error){
+            errors.increment();
+        }
+    }
+    
+    synchronized void rotate(){
+        // The histogram leaving the window is handed back to the recorder to be reused
+        buckets[next] = recorder.getIntervalHistogram(buckets[next]);
+        bucketErrors[next] = errors.sumThenReset();
+        next = (next + 1) % buckets.length;
+    }
+    
+    synchronized RouteSloReport report(Duration latencyThreshold, double latencyTarget, double availabilityTarget){
+        Histogram window = new Histogram(1, HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        long errorCount = 0;
+        for(int i = 0; i < buckets.length; i++){
+            if(buckets[i] != null){
+                window.add(buckets[i]);
+                errorCount += bucketErrors[i];
+            }
+        }
+        long requests = window.getTotalCount();
+        long thresholdMicros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyThreshold.toNanos()), HIGHEST_MICROS);
+        long slow = requests - window.getCountBetweenValues(0, thresholdMicros);
+        double errorRate = requests == 0 ? 0 : (double) errorCount / requests;
+        double slowRate = requests == 0 ? 0 : (double) slow / requests;
+        return new RouteSloReport()
+            .setRequests(requests)
+            .setP50(millis(window.getValueAtPercentile(50)))
+            .setP99(millis(window.getValueAtPercentile(99)))
+            .setP999(millis(window.getValueAtPercentile(99.9)))
+            .setLatencyThreshold(latencyThreshold)
+            .setLatencyTarget(latencyTarget)
+            .setSlowRate(slowRate)
+            .setLatencyBurnRate(slowRate / (1 - latencyTarget))
+            .setAvailabilityTarget(availabilityTarget)
+            .setErrorRate(errorRate)
+            .setAvailabilityBurnRate(errorRate / (1 - availabilityTarget));
+    }
+    
+    private static double millis(long micros){
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ourecommerce.operations.ag.metrics;
+
+import java.time.Duration;
+
+/**
+ * Latency percentiles of a route over the SLO window and how fast it is spending its error budgets. A burn rate of
+ * 1 spends the budget exactly over the SLO period, 10 spends it ten times faster.
+ */
+public class RouteSloReport{
+    private long requests;
+    private double p50;
+    private double p99;
+    private double p999;
+    private Duration latencyThreshold;
+    private double latencyTarget;
+    private double slowRate;
+    private double latencyBurnRate;
+    private double availabilityTarget;
+    private double errorRate;
+    private double availabilityBurnRate;
+    
+    public long getRequests(){
+        return requests;
+    }
+    
+    public RouteSloReport setRequests(long requests){
+        this.requests = requests;
+        return this;
+    }
+    
+    public double getP50(){
+        return p50;
+    }
+    
+    public RouteSloReport setP50(double p50){
+        this.p50 = p50;
+        return this;
+    }
+    
+    public double getP99(){
+        return p99;
+    }
+    
+    public RouteSloReport setP99(double p99){
+        this.p99 = p99;
+        return this;
+    }
+    
+    public double getP999(){
+        return p999;
+    }
+    
+    public RouteSloReport setP999(double p999){
+        this.p999 = p999;
+        return this;
+    }
+    
+    public Duration getLatencyThreshold(){
+        return latencyThreshold;
+    }
+    
+    public RouteSloReport setLatencyThreshold(Duration latencyThreshold){
+        this.latencyThreshold = latencyThreshold;
+        return this;
+    }
+    
+    public double getLatencyTarget(){
+        return latencyTarget;
+    }
+    
+    public RouteSloReport setLatencyTarget(double latencyTarget){
+        this.latencyTarget = latencyTarget;
+        return this;
+    }
+    
+    public double getSlowRate(){
+        return slowRate;
+    }
+    
+    public RouteSloReport setSlowRate(double slowRate){
+        this.slowRate = slowRate;
+        return this;
+    }
+    
+    public double getLatencyBurnRate(){
+        return latencyBurnRate;
+    }
+    
+    public RouteSloReport setLatencyBurnRate(double latencyBurnRate){
+        this.latencyBurnRate = latencyBurnRate;
+        return this;
+    }
+    
+    public double getAvailabilityTarget(){
+        return availabilityTarget;
+    }
+    
+    public RouteSloReport setAvailabilityTarget(double availabilityTarget){
+        this.availabilityTarget = availabilityTarget;
+        return this;
+    }
+    
+    public double getErrorRate(){
+        return errorRate;
+    }
+    
+    public RouteSloReport setErrorRate(double errorRate){
+        this.errorRate = errorRate;
+        return this;
+    }
+    
+    public double getAvailabilityBurnRate(){
+        return availabilityBurnRate;
+    }
+    
+    public RouteSloReport setAvailabilityBurnRate(double availabilityBurnRate){
+        this.availabilityBurnRate = availabilityBurnRate;
+        return this;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ourecommerce.operations.ag.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slo}: current percentiles and error budget burn of every route. Objectives default to the
+ * {@code gateway.slo} properties and can be set per route with the {@code slo-latency-threshold},
+ * {@code slo-latency-target} and {@code slo-availability-target} route metadata.
+ */
+@Component
+@Endpoint(id = "slo")
+public class SloEndpoint{
+    
+    public static final String LATENCY_THRESHOLD_ATTR = "slo-latency-threshold";
+    public static final String LATENCY_TARGET_ATTR = "slo-latency-target";
+    public static final String AVAILABILITY_TARGET_ATTR = "slo-availability-target";
+    
+    private final RouteLocator routeLocator;
+    private final SloTracker sloTracker;
+    private final Duration latencyThreshold;
+    private final double latencyTarget;
+    private final double availabilityTarget;
+    
+    public SloEndpoint(
+        RouteLocator routeLocator,
+        SloTracker sloTracker,
+        @Value("${gateway.slo.latency-threshold:500ms}") Duration latencyThreshold,
+        @Value("${gateway.slo.latency-target:0.99}") double latencyTarget,
+        @Value("${gateway.slo.availability-target:0.999}") double availabilityTarget
+    ){
+        this.routeLocator = routeLocator;
+        this.sloTracker = sloTracker;
+        this.latencyThreshold = latencyThreshold;
+        this.latencyTarget = latencyTarget;
+        this.availabilityTarget = availabilityTarget;
+    }
+    
+    @ReadOperation
+    public Mono<Map<String, Object>> slo(){
+        return routeLocator.getRoutes().collectList().map(this::report);
+    }
+    
+    private Map<String, Object> report(List<Route> routes){
+        Map<String, RouteSloReport> reports = new LinkedHashMap<>();
+        for(Route route : routes){
+            Map<String, Object> metadata = route.getMetadata();
+            reports.put(route.getId(), sloTracker.report(route.getId(),
+                metadata.containsKey(LATENCY_THRESHOLD_ATTR)
+                    ? DurationStyle.detectAndParse(metadata.get(LATENCY_THRESHOLD_ATTR).toString())
+                    : latencyThreshold,
+                doubleValue(metadata.get(LATENCY_TARGET_ATTR), latencyTarget),
+                doubleValue(metadata.get(AVAILABILITY_TARGET_ATTR), availabilityTarget)));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("window", sloTracker.getWindow());
+        report.put("routes", reports);
+        return report;
+    }
+    
+    private static double doubleValue(Object value, double fallback){
+        return value != null ? Double.parseDouble(value.toString()) : fallback;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ourecommerce.operations.ag.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SloTracker implements SchedulingConfigurer{
+    
+    private final Map<String, RouteSlo> routes = new ConcurrentHashMap<>();
+    private final Duration bucketDuration;
+    private final int windowBuckets;
+    
+    public SloTracker(
+        @Value("${gateway.slo.bucket-duration:10s}") Duration bucketDuration,
+        @Value("${gateway.slo.window-buckets:30}") int windowBuckets
+    ){
+        this.bucketDuration = bucketDuration;
+        this.windowBuckets = windowBuckets;
+    }
+    
+    void record(String routeId, long nanos, boolean error){
+        RouteSlo slo = routes.get(routeId);
+        if(slo == null){
+            slo = routes.computeIfAbsent(routeId, id -> new RouteSlo(windowBuckets));
+        }
+        slo.record(nanos, error);
+    }
+    
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar){
+        taskRegistrar.addFixedRateTask(() -> routes.values().forEach(RouteSlo::rotate), bucketDuration);
+    }
+    
+    RouteSloReport report(String routeId, Duration latencyThreshold, double latencyTarget, double availabilityTarget){
+        return routes.computeIfAbsent(routeId, id -> new RouteSlo(windowBuckets))
+            .report(latencyThreshold, latencyTarget, availabilityTarget);
+    }
+    
+    Duration getWindow(){
+        return bucketDuration.multipliedBy(windowBuckets);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ourecommerce.operations.ag.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Times every request that gets past the response cache, per route, status class and upstream instance. Timers
+ * are created once per combination and then found through lookups keyed by strings the exchange already holds,
+ * so recording a request builds no tags and no meter ids.
+ */
+@Component
+public class UpstreamMetricsFilter implements GlobalFilter, Ordered{
+    
+    private static final String[] STATUS_CLASSES = {"none", "1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final int SERVER_ERROR = 5;
+    private static final String NO_INSTANCE = "none";
+    
+    private final Map<String, Map<String, Timer[]>> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final SloTracker sloTracker;
+    
+    public UpstreamMetricsFilter(MeterRegistry meterRegistry, SloTracker sloTracker){
+        this.meterRegistry = meterRegistry;
+        this.sloTracker = sloTracker;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain){
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+    
+    private void record(ServerWebExchange exchange, SignalType signal, long nanos){
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if(route == null){
+            return;
+        }
+        URI upstream = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        // Still an lb:// URL when no instance could be chosen
+        String instance = upstream != null && !"lb".equals(upstream.getScheme()) && upstream.getRawAuthority() != null
+            ? upstream.getRawAuthority()
+            : NO_INSTANCE;
+        int statusClass = statusClass(exchange.getResponse().getStatusCode(), signal);
+        timer(route.getId(), instance, statusClass).record(nanos, TimeUnit.NANOSECONDS);
+        sloTracker.record(route.getId(), nanos, statusClass == SERVER_ERROR);
+    }
+    
+    private static int statusClass(HttpStatusCode status, SignalType signal){
+        if(signal == SignalType.ON_ERROR){
+            return SERVER_ERROR;
+        }
+        int statusClass = status == null ? 0 : status.value() / 100;
+        return statusClass > 0 && statusClass < STATUS_CLASSES.length ? statusClass : 0;
+    }
+    
+    private Timer timer(String routeId, String instance, int statusClass){
+        Map<String, Timer[]> instances = timers.get(routeId);
+        if(instances == null){
+            instances = timers.computeIfAbsent(routeId, id -> new ConcurrentHashMap<>());
+        }
+        Timer[] byStatus = instances.get(instance);
+        if(byStatus == null){
+            byStatus = instances.computeIfAbsent(instance, key -> new Timer[STATUS_CLASSES.length]);
+        }
+        Timer timer = byStatus[statusClass];
+        if(timer == null){
+            // Racing registrations get the same timer back from the registry
+            timer = Timer.builder("gateway.upstream.requests")
+                .description("Requests forwarded to backends, by route, status class and upstream instance")
+                .tag("route", routeId)
+                .tag("status", STATUS_CLASSES[statusClass])
+                .tag("instance", instance)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+            byStatus[statusClass] = timer;
+        }
+        return timer;
+    }
+    
+    @Override
+    public int getOrder(){
+        // After the response cache filters, so cache hits are not counted as upstream requests
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ourecommerce.operations.ag.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies the client a request is charged to: its API key when it is one of the issued keys, else the
+ * subject of its token, sent raw or with the bearer scheme, when the token is signed by one of the JWT signing
+ * keys and not expired, else its remote address. Anything the gateway cannot vouch for falls back to the
+ * address, so made-up keys or subjects can neither open fresh buckets nor drain someone else's.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver{
+    
+    static final String API_KEY_HEADER = "X-API-Key";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Map<String, String> MAC_ALGORITHMS = Map.of(
+        "HS256", "HmacSHA256",
+        "HS384", "HmacSHA384",
+        "HS512", "HmacSHA512");
+    
+    private final ObjectMapper objectMapper;
+    private final Set<String> apiKeys;
+    private final Map<String, byte[]> signingKeys = new HashMap<>();
+    
+    /**
+     * @param signingKeys the webapps' JWT signing keys, as {@code key-id:base64-secret} entries
+     */
+    public ClientKeyResolver(
+        ObjectMapper objectMapper,
+        @Value("${gateway.rate-limit.api-keys:}") List<String> apiKeys,
+        @Value("${gateway.rate-limit.jwt-signing-keys:}") List<String> signingKeys
+    ){
+        this.objectMapper = objectMapper;
+        this.apiKeys = apiKeys.stream()
+            .map(String::trim)
+            .filter(apiKey -> !apiKey.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+        for(String entry : signingKeys){
+            if(entry.isBlank()){
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if(separator < 1){
+                throw new IllegalStateException("Signing key entries must be key-id:base64-secret");
+            }
+            this.signingKeys.put(entry.substring(0, separator).trim(), Base64.getDecoder().decode(entry.substring(separator + 1).trim()));
+        }
+    }
+    
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange){
+        return Mono.just(resolveKey(exchange.getRequest()));
+    }
+    
+    String resolveKey(ServerHttpRequest request){
+        String apiKey = request.getHeaders().getFirst(API_KEY_HEADER);
+        if(apiKey != null && apiKeys.contains(apiKey)){
+            return "key:" + apiKey;
+        }
+        
+        String subject = verifiedSubject(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if(subject != null){
+            return "sub:" + subject;
+        }
+        
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return "ip:" + (remoteAddress == null || remoteAddress.getAddress() == null
+            ? "unknown"
+            : remoteAddress.getAddress().getHostAddress());
+    }
+    
+    private String verifiedSubject(String authorization){
+        if(signingKeys.isEmpty() || authorization == null){
+            return null;
+        }
+        // The webapps send their tokens raw, other clients may use the bearer scheme
+        String token = authorization.startsWith(BEARER_PREFIX) ? authorization.substring(BEARER_PREFIX.length()) : authorization;
+        String[] parts = token.split("\\.");
+        if(parts.length != 3){
+            return null;
+        }
+        try{
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            JsonNode header = objectMapper.readTree(decoder.decode(parts[0]));
+            String macAlgorithm = MAC_ALGORITHMS.get(header.path("alg").asText());
+            byte[] key = header.hasNonNull("kid") ? signingKeys.get(header.get("kid").asText()) : soleKey();
+            if(macAlgorithm == null || key == null){
+                return null;
+            }
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(new SecretKeySpec(key, macAlgorithm));
+            byte[] expected = mac.doFinal((parts[0] + '.' + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if(!MessageDigest.isEqual(expected, decoder.decode(parts[2]))){
+                return null;
+            }
+            
+            JsonNode claims = objectMapper.readTree(decoder.decode(parts[1]));
+            JsonNode expiration = claims.get("exp");
+            if(expiration == null || !expiration.canConvertToLong() || expiration.asLong() * 1000 <= System.currentTimeMillis()){
+                return null;
+            }
+            JsonNode subject = claims.get("sub");
+            return subject != null && subject.isTextual() ? subject.asText() : null;
+        }catch(IOException | IllegalArgumentException | GeneralSecurityException e){
+            return null;
+        }
+    }
+    
+    // Tokens without a key id were issued before key ids existed, when there was only one key
+    private byte[] soleKey(){
+        return signingKeys.size() == 1 ? signingKeys.values().iterator().next() : null;
+    }
+}
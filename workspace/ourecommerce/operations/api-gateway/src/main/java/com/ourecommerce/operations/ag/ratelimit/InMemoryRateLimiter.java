@@ -0,0 +1,169 @@
+package com.ourecommerce.operations.ag.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter kept entirely in the gateway's memory. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will be full again (the GCRA formulation of a token bucket), so a decision is
+ * one map lookup and a compare-and-set. Idle buckets expire, and the number of tracked clients is bounded.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config>{
+    
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+    
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+    
+    private final Cache<String, AtomicLong> buckets;
+    private final Config defaultConfig;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Map<String, Counter> limitedCounters = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public InMemoryRateLimiter(
+        ConfigurationService configurationService,
+        MeterRegistry meterRegistry,
+        @Value("${gateway.rate-limit.replenish-rate:100}") int replenishRate,
+        @Value("${gateway.rate-limit.burst-capacity:200}") int burstCapacity,
+        @Value("${gateway.rate-limit.maximum-clients:100000}") long maximumClients,
+        @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout
+    ){
+        this(configurationService, meterRegistry, new Config().setReplenishRate(replenishRate).setBurstCapacity(burstCapacity),
+            maximumClients, idleTimeout, System::nanoTime);
+    }
+    
+    InMemoryRateLimiter(
+        ConfigurationService configurationService,
+        MeterRegistry meterRegistry,
+        Config defaultConfig,
+        long maximumClients,
+        Duration idleTimeout,
+        LongSupplier nanoClock
+    ){
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = defaultConfig;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumClients)
+            .expireAfterAccess(idleTimeout)
+            .build();
+    }
+    
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id){
+        return Mono.just(tryAcquire(routeId, id));
+    }
+    
+    /**
+     * Charges a request that costs more than one token, such as one fanning out to several upstream calls.
+     * Costs above the burst capacity are charged as a full bucket, so such requests are slowed, not refused.
+     */
+    public Mono<Response> isAllowed(String routeId, String id, int tokens){
+        return Mono.just(tryAcquire(routeId, id, tokens));
+    }
+    
+    Response tryAcquire(String routeId, String id){
+        return tryAcquire(routeId, id, getConfig().getOrDefault(routeId, defaultConfig).getRequestedTokens());
+    }
+    
+    Response tryAcquire(String routeId, String id, int tokens){
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long tolerance = interval * config.getBurstCapacity();
+        long cost = interval * Math.min(tokens, config.getBurstCapacity());
+        AtomicLong fullAt = buckets.get(routeId + '|' + id, key -> new AtomicLong(Long.MIN_VALUE));
+        
+        long now = nanoClock.getAsLong();
+        while(true){
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long next = start + cost;
+            if(next - now > tolerance){
+                limitedCounter(routeId).increment();
+                return response(false, config, 0, start - now, next - now - tolerance);
+            }
+            if(fullAt.compareAndSet(current, next)){
+                return response(true, config, (tolerance - (next - now)) / interval, next - now, 0);
+            }
+        }
+    }
+    
+    private Response response(boolean allowed, Config config, long remaining, long nanosUntilFull, long nanosUntilAllowed){
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put(LIMIT_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REMAINING_HEADER, String.valueOf(remaining));
+        headers.put(RESET_HEADER, String.valueOf(ceilSeconds(nanosUntilFull)));
+        if(!allowed){
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(ceilSeconds(nanosUntilAllowed)));
+        }
+        return new Response(allowed, headers);
+    }
+    
+    private Counter limitedCounter(String routeId){
+        return limitedCounters.computeIfAbsent(routeId, route -> Counter.builder("gateway.requests.rate.limited")
+            .description("Requests rejected with 429 by the in-memory rate limiter")
+            .tag("route", route)
+            .register(meterRegistry));
+    }
+    
+    private static long ceilSeconds(long nanos){
+        return Math.max(0, (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+    
+    public static class Config{
+        
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+        
+        public int getReplenishRate(){
+            return replenishRate;
+        }
+        
+        public Config setReplenishRate(int replenishRate){
+            this.replenishRate = replenishRate;
+            return this;
+        }
+        
+        public int getBurstCapacity(){
+            return burstCapacity;
+        }
+        
+        public Config setBurstCapacity(int burstCapacity){
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+        
+        public int getRequestedTokens(){
+            return requestedTokens;
+        }
+        
+        public Config setRequestedTokens(int requestedTokens){
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ourecommerce.operations.ag.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CatalogViewServiceTest{
+    
+    @Test
+    void testFailsWhenListingFailsBeforeAnyProduct() {
+        CatalogViewService service = service(Flux.error(new IOException("connection reset")));
+        
+        assertThatThrownBy(() -> service.getCatalogView(null, null, 10).collectList().block())
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                error -> assertThat(error.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY));
+    }
+    
+    @Test
+    void testMarksViewIncompleteWhenListingFailsPartWay() {
+        CatalogViewService service = service(Flux.concat(
+            Flux.just(buffer("{\"productCode\":\"P1\"}\n"), buffer("{\"productCode\":\"P2\"}\n")),
+            Flux.error(new IOException("connection reset"))));
+        
+        List<CatalogItem> view = service.getCatalogView(null, null, 10).collectList().block();
+        
+        assertThat(view).hasSize(3);
+        assertThat(view.get(0).getProduct().getProductCode()).isEqualTo("P1");
+        assertThat(view.get(1).getProduct().getProductCode()).isEqualTo("P2");
+        assertThat(view.get(1).getListingIncomplete()).isNull();
+        assertThat(view.get(2).getProduct()).isNull();
+        assertThat(view.get(2).getListingIncomplete()).isTrue();
+    }
+    
+    private static CatalogViewService service(Flux<DataBuffer> productsBody){
+        ExchangeFunction exchange = request -> Mono.just(request.url().getPath().startsWith("/products")
+            ? ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body(productsBody)
+                .build()
+            : ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        return new CatalogViewService(WebClient.builder().exchangeFunction(exchange),
+            (request, next) -> next.exchange(request), 4, 200, Duration.ofSeconds(2), Duration.ofMillis(500));
+    }
+    
+    private static DataBuffer buffer(String content){
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
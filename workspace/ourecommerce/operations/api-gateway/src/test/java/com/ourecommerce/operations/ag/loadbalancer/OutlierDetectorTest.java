@@ -0,0 +1,139 @@
+package com.ourecommerce.operations.ag.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutlierDetectorTest{
+    
+    private final AtomicLong clock = new AtomicLong(1);
+    private final ServiceInstance first = new DefaultServiceInstance("i1", "inventory-management", "host1", 8181, false);
+    private final ServiceInstance second = new DefaultServiceInstance("i2", "inventory-management", "host2", 8181, false);
+    private final List<ServiceInstance> instances = List.of(first, second);
+    private SimpleMeterRegistry meterRegistry;
+    private OutlierDetector outlierDetector;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outlierDetector = new OutlierDetector(meterRegistry, new OutlierDetector.Settings()
+            .setConsecutiveErrors(3)
+            .setLatencyOutlierMinimumRequests(5)
+            .setBaseEjectionTime(Duration.ofSeconds(10))
+            .setSlowStartWindow(Duration.ofSeconds(10))
+            .setInFlightTimeout(Duration.ofMinutes(1))
+            .setInstanceRetention(Duration.ofMinutes(10)), clock::get);
+        outlierDetector.available(instances);
+    }
+    
+    @Test
+    void testEjectsAfterConsecutiveErrorsAndRampsBackUp() {
+        call(first, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+        call(first, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+        assertThat(outlierDetector.available(instances)).containsExactly(first, second);
+        
+        call(first, HttpStatus.BAD_GATEWAY, 1);
+        assertThat(outlierDetector.available(instances)).containsExactly(second);
+        assertThat(meterRegistry.get("gateway.loadbalancer.ejections").tag("reason", "errors").counter().count()).isEqualTo(1);
+        
+        advance(10_000);
+        assertThat(outlierDetector.statsOf(first).admission(clock.get(), TimeUnit.SECONDS.toNanos(10))).isZero();
+        advance(5_000);
+        assertThat(outlierDetector.statsOf(first).admission(clock.get(), TimeUnit.SECONDS.toNanos(10))).isEqualTo(0.5);
+        advance(5_000);
+        assertThat(outlierDetector.available(instances)).containsExactly(first, second);
+    }
+    
+    @Test
+    void testSuccessResetsErrorRun() {
+        call(first, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+        call(first, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+        call(first, HttpStatus.NOT_FOUND, 1);
+        call(first, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+        
+        assertThat(outlierDetector.available(instances)).containsExactly(first, second);
+    }
+    
+    @Test
+    void testNeverEjectsMoreThanAllowedShare() {
+        for(int i = 0; i < 3; i++){
+            call(first, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+            call(second, HttpStatus.INTERNAL_SERVER_ERROR, 1);
+        }
+        
+        assertThat(outlierDetector.available(instances)).containsExactly(second);
+    }
+    
+    @Test
+    void testEjectsLatencyOutlier() {
+        for(int i = 0; i < 5; i++){
+            call(first, HttpStatus.OK, 20);
+            call(second, HttpStatus.OK, 900);
+        }
+        
+        assertThat(outlierDetector.available(instances)).containsExactly(first);
+        assertThat(outlierDetector.cost(first)).isLessThan(outlierDetector.cost(second));
+    }
+    
+    @Test
+    void testExpiresRequestsThatNeverComplete() {
+        Request<RequestDataContext> cancelled = new DefaultRequest<>(new RequestDataContext());
+        outlierDetector.onStartRequest(cancelled, new DefaultResponse(first));
+        call(first, HttpStatus.OK, 1);
+        assertThat(outlierDetector.statsOf(first).outstanding()).isEqualTo(1);
+        
+        advance(30_000);
+        outlierDetector.sweep();
+        assertThat(outlierDetector.statsOf(first).outstanding()).isEqualTo(1);
+        
+        advance(31_000);
+        outlierDetector.sweep();
+        assertThat(outlierDetector.statsOf(first).outstanding()).isZero();
+    }
+    
+    @Test
+    void testForgetsInstancesThatLeftDiscovery() {
+        call(first, HttpStatus.OK, 1);
+        call(second, HttpStatus.OK, 1);
+        
+        advance(5 * 60_000);
+        outlierDetector.available(List.of(first));
+        advance(6 * 60_000);
+        outlierDetector.sweep();
+        
+        assertThat(meterRegistry.find("gateway.loadbalancer.instance.latency").tag("instance", "host1:8181").gauge()).isNotNull();
+        assertThat(meterRegistry.find("gateway.loadbalancer.instance.latency").tag("instance", "host2:8181").gauge()).isNull();
+        assertThat(meterRegistry.find("gateway.loadbalancer.instance.outstanding").tag("instance", "host2:8181").gauge()).isNull();
+    }
+    
+    private void call(ServiceInstance instance, HttpStatus status, long millis) {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+        outlierDetector.onStartRequest(request, lbResponse);
+        advance(millis);
+        outlierDetector.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, lbResponse,
+            new ResponseData(status, new HttpHeaders(), null, null)));
+    }
+    
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,50 @@
+package com.ourecommerce.operations.ag.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class RouteSloTest{
+    
+    private final RouteSlo routeSlo = new RouteSlo(3);
+    
+    @Test
+    void testReportsPercentilesAndBurnRates() {
+        for(int i = 0; i < 990; i++){
+            routeSlo.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+        for(int i = 0; i < 10; i++){
+            routeSlo.record(TimeUnit.MILLISECONDS.toNanos(800), true);
+        }
+        routeSlo.rotate();
+        
+        RouteSloReport report = routeSlo.report(Duration.ofMillis(500), 0.99, 0.999);
+        
+        assertThat(report.getRequests()).isEqualTo(1000);
+        assertThat(report.getP50()).isCloseTo(10, within(0.1));
+        assertThat(report.getP999()).isCloseTo(800, within(8.0));
+        assertThat(report.getSlowRate()).isCloseTo(0.01, within(1e-9));
+        assertThat(report.getLatencyBurnRate()).isCloseTo(1, within(1e-6));
+        assertThat(report.getAvailabilityBurnRate()).isCloseTo(10, within(1e-6));
+    }
+    
+    @Test
+    void testOldBucketsLeaveTheWindow() {
+        routeSlo.record(TimeUnit.MILLISECONDS.toNanos(5), true);
+        routeSlo.rotate();
+        assertThat(routeSlo.report(Duration.ofMillis(500), 0.99, 0.999).getErrorRate()).isEqualTo(1);
+        
+        for(int i = 0; i < 3; i++){
+            routeSlo.record(TimeUnit.MILLISECONDS.toNanos(5), false);
+            routeSlo.rotate();
+        }
+        
+        RouteSloReport report = routeSlo.report(Duration.ofMillis(500), 0.99, 0.999);
+        assertThat(report.getRequests()).isEqualTo(3);
+        assertThat(report.getErrorRate()).isZero();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ourecommerce.operations.ag.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientKeyResolverTest{
+    
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    
+    private final ClientKeyResolver resolver = new ClientKeyResolver(new ObjectMapper(),
+        List.of("issued-key"), List.of("k1:" + Base64.getEncoder().encodeToString(SECRET)));
+    
+    @Test
+    void testUsesIssuedApiKeyOnly() {
+        assertThat(resolver.resolveKey(request().header(ClientKeyResolver.API_KEY_HEADER, "issued-key").build()))
+            .isEqualTo("key:issued-key");
+        assertThat(resolver.resolveKey(request().header(ClientKeyResolver.API_KEY_HEADER, "made-up").build()))
+            .isEqualTo("ip:10.0.0.1");
+    }
+    
+    @Test
+    void testUsesSubjectOfVerifiedToken() {
+        String token = token("k1", SECRET, "alice", System.currentTimeMillis() / 1000 + 60);
+        
+        assertThat(resolver.resolveKey(request().header(HttpHeaders.AUTHORIZATION, "Bearer " + token).build()))
+            .isEqualTo("sub:alice");
+    }
+    
+    @Test
+    void testUsesSubjectOfRawToken() {
+        String token = token("k1", SECRET, "bob", System.currentTimeMillis() / 1000 + 60);
+        
+        assertThat(resolver.resolveKey(request().header(HttpHeaders.AUTHORIZATION, token).build()))
+            .isEqualTo("sub:bob");
+    }
+    
+    @Test
+    void testFallsBackToAddressForUnverifiedTokens() {
+        long inAMinute = System.currentTimeMillis() / 1000 + 60;
+        byte[] otherSecret = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII);
+        
+        assertThat(resolveWithToken(token("k1", otherSecret, "alice", inAMinute))).isEqualTo("ip:10.0.0.1");
+        assertThat(resolveWithToken(token("k2", SECRET, "alice", inAMinute))).isEqualTo("ip:10.0.0.1");
+        assertThat(resolveWithToken(token("k1", SECRET, "alice", inAMinute - 120))).isEqualTo("ip:10.0.0.1");
+        assertThat(resolveWithToken("not.a.token")).isEqualTo("ip:10.0.0.1");
+    }
+    
+    private String resolveWithToken(String token) {
+        return resolver.resolveKey(request().header(HttpHeaders.AUTHORIZATION, "Bearer " + token).build());
+    }
+    
+    private static MockServerHttpRequest.BaseBuilder<?> request() {
+        return MockServerHttpRequest.get("/products").remoteAddress(new InetSocketAddress("10.0.0.1", 40000));
+    }
+    
+    private static String token(String keyId, byte[] secret, String subject, long expiresAt) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString(("{\"kid\":\"" + keyId + "\",\"alg\":\"HS256\"}").getBytes(StandardCharsets.UTF_8));
+        String claims = encoder.encodeToString(("{\"sub\":\"" + subject + "\",\"exp\":" + expiresAt + "}").getBytes(StandardCharsets.UTF_8));
+        try{
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] signature = mac.doFinal((header + '.' + claims).getBytes(StandardCharsets.US_ASCII));
+            return header + '.' + claims + '.' + encoder.encodeToString(signature);
+        }catch(Exception e){
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ourecommerce.operations.ag.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryRateLimiterTest{
+    
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryRateLimiter rateLimiter;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new InMemoryRateLimiter(null, meterRegistry,
+            new InMemoryRateLimiter.Config().setReplenishRate(10).setBurstCapacity(5),
+            1_000, Duration.ofMinutes(1), clock::get);
+    }
+    
+    @Test
+    void testAllowsBurstThenLimits() {
+        for(int i = 4; i >= 0; i--){
+            RateLimiter.Response response = rateLimiter.tryAcquire("route", "client");
+            assertThat(response.isAllowed()).isTrue();
+            assertThat(response.getHeaders()).containsEntry(InMemoryRateLimiter.REMAINING_HEADER, String.valueOf(i));
+        }
+        
+        RateLimiter.Response limited = rateLimiter.tryAcquire("route", "client");
+        assertThat(limited.isAllowed()).isFalse();
+        assertThat(limited.getHeaders()).containsEntry(HttpHeaders.RETRY_AFTER, "1");
+        assertThat(meterRegistry.get("gateway.requests.rate.limited").tag("route", "route").counter().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void testChargesFanOutAndCapsAtBurst() {
+        assertThat(rateLimiter.tryAcquire("route", "client", 3).getHeaders())
+            .containsEntry(InMemoryRateLimiter.REMAINING_HEADER, "2");
+        assertThat(rateLimiter.tryAcquire("route", "client", 3).isAllowed()).isFalse();
+        
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(rateLimiter.tryAcquire("route", "other", 50).isAllowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("route", "other", 1).isAllowed()).isFalse();
+    }
+    
+    @Test
+    void testReplenishesOverTime() {
+        for(int i = 0; i < 5; i++){
+            rateLimiter.tryAcquire("route", "client");
+        }
+        assertThat(rateLimiter.tryAcquire("route", "client").isAllowed()).isFalse();
+        
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(rateLimiter.tryAcquire("route", "client").isAllowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("route", "client").isAllowed()).isFalse();
+    }
+    
+    @Test
+    void testBucketsArePerRouteAndClient() {
+        for(int i = 0; i < 5; i++){
+            rateLimiter.tryAcquire("route", "client");
+        }
+        
+        assertThat(rateLimiter.tryAcquire("route", "client").isAllowed()).isFalse();
+        assertThat(rateLimiter.tryAcquire("route", "other-client").isAllowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("other-route", "client").isAllowed()).isTrue();
+    }
+}
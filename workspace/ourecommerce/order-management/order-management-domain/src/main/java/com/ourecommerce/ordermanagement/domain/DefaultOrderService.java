@@ -6,6 +6,7 @@ import com.ourecommerce.ordermanagement.api.PlaceOrder.PlaceOrderItem;
 import com.ourecommerce.ordermanagement.api.PlaceOrderResponse;
 import com.ourecommerce.ordermanagement.domain.adapters.OrderDomainEventPublisher;
 import com.ourecommerce.ordermanagement.domain.adapters.OrderDomainRepository;
+import com.ourecommerce.ordermanagement.domain.adapters.ProductBlacklist;
 import com.ourecommerce.ordermanagement.domain.adapters.ProductService;
 import com.ourecommerce.ordermanagement.domain.entity.Order;
 import com.ourecommerce.ordermanagement.domain.entity.Order.OrderItem;
@@ -18,22 +19,31 @@ import java.util.stream.Collectors;
 
 public class DefaultOrderService implements OrderService{
     
+    private static final String REJECTED_STATUS = "REJECTED";
+    
     private final OrderDomainRepository orderDomainRepository;
     private final ProductService productService;
     private final OrderDomainEventPublisher orderDomainEventPublisher;
+    private final ProductBlacklist productBlacklist;
     
     public DefaultOrderService(
         OrderDomainRepository orderDomainRepository,
         ProductService productService,
-        OrderDomainEventPublisher orderDomainEventPublisher
+        OrderDomainEventPublisher orderDomainEventPublisher,
+        ProductBlacklist productBlacklist
     ){
         this.orderDomainRepository = orderDomainRepository;
         this.productService = productService;
         this.orderDomainEventPublisher = orderDomainEventPublisher;
+        this.productBlacklist = productBlacklist;
     }
     
     @Override
     public Mono<PlaceOrderResponse> placeOrder(PlaceOrder placeOrder){
+        if(containsBlacklistedItem(placeOrder)){
+            return Mono.just(new PlaceOrderResponse().setStatus(REJECTED_STATUS));
+        }
+        
         return resolveOrderFrom(placeOrder)
             .flatMap(order -> orderDomainRepository.save(order)
                 .doOnSuccess(orderId -> {
@@ -47,6 +57,12 @@ public class DefaultOrderService implements OrderService{
             );
     }
     
+    private boolean containsBlacklistedItem(PlaceOrder placeOrder){
+        return placeOrder.getItems().stream()
+            .map(PlaceOrderItem::getProductId)
+            .anyMatch(productBlacklist::isBlacklisted);
+    }
+    
     private OrderPlaced constructEvent(Order order, OrderId orderId){
         return new OrderPlaced()
             .setOrderId(orderId.toString())
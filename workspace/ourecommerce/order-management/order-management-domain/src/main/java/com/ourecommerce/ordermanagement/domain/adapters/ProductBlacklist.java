@@ -0,0 +1,5 @@
+package com.ourecommerce.ordermanagement.domain.adapters;
+
+public interface ProductBlacklist{
+    boolean isBlacklisted(String productId);
+}
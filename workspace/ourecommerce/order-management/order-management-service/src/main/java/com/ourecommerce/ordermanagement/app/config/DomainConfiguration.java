@@ -4,6 +4,7 @@ import com.ourecommerce.ordermanagement.domain.DefaultOrderService;
 import com.ourecommerce.ordermanagement.domain.adapters.OrderDomainEventPublisher;
 import com.ourecommerce.ordermanagement.domain.adapters.OrderDomainRepository;
 import com.ourecommerce.ordermanagement.domain.OrderService;
+import com.ourecommerce.ordermanagement.domain.adapters.ProductBlacklist;
 import com.ourecommerce.ordermanagement.domain.adapters.ProductService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,8 +16,9 @@ public class DomainConfiguration{
     public OrderService orderService(
         ProductService productService,
         OrderDomainRepository orderDomainRepository,
-        OrderDomainEventPublisher orderDomainEventPublisher
+        OrderDomainEventPublisher orderDomainEventPublisher,
+        ProductBlacklist productBlacklist
     ){
-        return new DefaultOrderService(orderDomainRepository, productService, orderDomainEventPublisher);
+        return new DefaultOrderService(orderDomainRepository, productService, orderDomainEventPublisher, productBlacklist);
     }
 }
@@ -3,7 +3,10 @@ package com.ourecommerce.ordermanagement.app.controller;
 import com.ourecommerce.ordermanagement.api.OrderDetails;
 import com.ourecommerce.ordermanagement.api.PlaceOrder;
 import com.ourecommerce.ordermanagement.api.PlaceOrderResponse;
+import com.ourecommerce.ordermanagement.app.logging.LogMarkers;
 import com.ourecommerce.ordermanagement.domain.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,12 +17,13 @@ import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.time.Instant;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
     
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderController.class);
+    
     private final OrderService orderService;
     
     @Autowired
@@ -32,9 +36,9 @@ public class OrderController {
         Mono<ResponseEntity<PlaceOrderResponse>> response =  Mono.delay(Duration.ofSeconds(1))
             .flatMap(it -> orderService.placeOrder(orderDetails))
             .map(ResponseEntity::ok)
-            .doOnSuccess(success -> System.out.println(Instant.now() + " Done with requested order "+orderDetails));
+            .doOnSuccess(success -> LOGGER.debug(LogMarkers.REQUEST_TRACE, "Done with requested order {}", orderDetails));
         
-        System.out.println(Instant.now() + " Requested order "+orderDetails);
+        LOGGER.debug(LogMarkers.REQUEST_TRACE, "Requested order {}", orderDetails);
         
         return response;
     }
@@ -0,0 +1,62 @@
+package com.ourecommerce.ordermanagement.app.domain;
+
+import com.ourecommerce.ordermanagement.domain.adapters.ProductBlacklist;
+import com.ourecommerce.productmanagement.api.BlacklistedProductsResponse;
+import com.ourecommerce.productmanagement.client.BlacklistedProductManagementClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class InMemoryProductBlacklist implements ProductBlacklist{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryProductBlacklist.class);
+    
+    private final Set<String> blacklistedProductIds = ConcurrentHashMap.newKeySet();
+    private final BlacklistedProductManagementClient blacklistedProductManagementClient;
+    
+    public InMemoryProductBlacklist(BlacklistedProductManagementClient blacklistedProductManagementClient){
+        this.blacklistedProductManagementClient = blacklistedProductManagementClient;
+    }
+    
+    @Override
+    public boolean isBlacklisted(String productId){
+        return productId != null && blacklistedProductIds.contains(productId);
+    }
+    
+    public void add(String productId){
+        blacklistedProductIds.add(productId);
+    }
+    
+    public void addAll(Collection<String> productIds){
+        blacklistedProductIds.addAll(productIds);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot(){
+        // Entries are only ever added, so the snapshot can safely race with queue updates
+        Mono.fromCallable(blacklistedProductManagementClient::getBlacklistedProducts)
+            .subscribeOn(Schedulers.boundedElastic())
+            .mapNotNull(ResponseEntity::getBody)
+            .mapNotNull(BlacklistedProductsResponse::getProductIds)
+            .retryWhen(Retry.backoff(5, Duration.ofSeconds(2)))
+            .subscribe(
+                productIds -> {
+                    addAll(productIds);
+                    LOGGER.info("Loaded {} blacklisted products from snapshot", productIds.size());
+                },
+                error -> LOGGER.warn("Unable to load blacklisted product snapshot, relying on queue updates", error)
+            );
+    }
+}
@@ -1,10 +1,13 @@
 package com.ourecommerce.ordermanagement.app.domain;
 
 import com.ourecommerce.ordermanagement.app.config.ProductManagementLoadBalancerConfiguration;
+import com.ourecommerce.ordermanagement.app.logging.LogMarkers;
 import com.ourecommerce.ordermanagement.domain.entity.Product;
 import com.ourecommerce.ordermanagement.domain.adapters.ProductService;
 import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
 import com.ourecommerce.productmanagement.client.ProductManagementClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
 import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
@@ -13,14 +16,17 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 @LoadBalancerClient(name = "product-management", configuration = ProductManagementLoadBalancerConfiguration.class)
 public class ProductManagementClientBasedProductService implements ProductService{
     
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductManagementClientBasedProductService.class);
+    
     private final ProductManagementClient productManagementClient;
     private final ReactiveCircuitBreaker remoteServiceCircuitBreaker;
-    
-    private static int counter = 0;
+    private final AtomicLong calls = new AtomicLong();
     
     public ProductManagementClientBasedProductService(
         ProductManagementClient productManagementClient,
@@ -32,12 +38,12 @@ public class ProductManagementClientBasedProductService implements ProductServic
     
     @Override
     public Mono<Product> getProductWithCode(String code){
-        System.out.println("Retrieving product details for product with code: "+code);
-        System.out.println("Call number: "+ ++counter);
+        LOGGER.debug(LogMarkers.REQUEST_TRACE, "Retrieving product details for product with code {}, call number {}",
+            code, calls.incrementAndGet());
         return remoteServiceCircuitBreaker.run(
             getProductFromPM(code),
             throwable -> {
-                System.out.println("Server error: "+throwable.getMessage());
+                LOGGER.warn("Product management call for {} failed, using fallback product: {}", code, throwable.getMessage());
                 return Mono.just(new Product("CACHED01111"));
             }
         );
@@ -1,13 +1,31 @@
 package com.ourecommerce.ordermanagement.app.eventhandlers;
 
-import com.ourecommerce.productmanagement.api.ProductBlacklistedEvent;
+import com.ourecommerce.ordermanagement.app.domain.InMemoryProductBlacklist;
+import com.ourecommerce.productmanagement.api.ProductsBlacklistedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
 @Service
 public class MQEventHandler{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(MQEventHandler.class);
+    
+    private final InMemoryProductBlacklist productBlacklist;
+    
+    public MQEventHandler(InMemoryProductBlacklist productBlacklist){
+        this.productBlacklist = productBlacklist;
+    }
+    
     @RabbitListener(queues = "order_product_catalog_queue")
-    public void processBlackList(ProductBlacklistedEvent message) {
-        System.out.println("Processing blacklisted product: " + message);
+    public void processBlackList(ProductsBlacklistedEvent message) {
+        // Throwing here would have the malformed message redelivered forever
+        if(message.getProductIds() == null || message.getProductIds().isEmpty()){
+            LOGGER.warn("Ignoring blacklist event without product ids: {}", message);
+            return;
+        }
+        LOGGER.info("Processing {} blacklisted products", message.getProductIds().size());
+        productBlacklist.addAll(message.getProductIds());
     }
 }
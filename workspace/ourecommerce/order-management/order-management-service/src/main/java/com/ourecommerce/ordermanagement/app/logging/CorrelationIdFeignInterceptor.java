@@ -0,0 +1,21 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards the current correlation id to product-management, so both services log the request under one id.
+ */
+@Component
+public class CorrelationIdFeignInterceptor implements RequestInterceptor{
+
+    @Override
+    public void apply(RequestTemplate template){
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if(correlationId != null){
+            template.header(CorrelationIdFilter.HEADER, correlationId);
+        }
+    }
+}
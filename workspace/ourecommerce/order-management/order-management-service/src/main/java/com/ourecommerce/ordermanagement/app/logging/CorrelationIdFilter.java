@@ -0,0 +1,60 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import io.micrometer.context.ContextRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Gives every request a correlation id, taken from the caller's {@code X-Correlation-Id} header or generated,
+ * and echoes it on the response. The id is put in the MDC; Spring MVC captures it into the Reactor context of
+ * returned publishers, and context propagation restores it on whichever thread continues the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter{
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    public CorrelationIdFilter(){
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+            MDC_KEY, () -> MDC.get(MDC_KEY), value -> MDC.put(MDC_KEY, value), () -> MDC.remove(MDC_KEY));
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException{
+        // Reused on the async dispatch that writes a reactive result, so the id stays the same
+        String correlationId = (String) request.getAttribute(MDC_KEY);
+        if(correlationId == null){
+            String requested = request.getHeader(HEADER);
+            correlationId = requested != null && !requested.isBlank() ? requested : UUID.randomUUID().toString();
+            request.setAttribute(MDC_KEY, correlationId);
+            response.setHeader(HEADER, correlationId);
+        }
+        MDC.put(MDC_KEY, correlationId);
+        try{
+            filterChain.doFilter(request, response);
+        }finally{
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch(){
+        return false;
+    }
+}
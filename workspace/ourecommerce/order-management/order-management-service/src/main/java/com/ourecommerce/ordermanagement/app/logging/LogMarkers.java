@@ -0,0 +1,16 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers{
+
+    /**
+     * Marks per-request debug logs. They are emitted at the rate allowed by {@link RequestTraceSampler}
+     * regardless of the logger's level.
+     */
+    public static final Marker REQUEST_TRACE = MarkerFactory.getMarker("REQUEST_TRACE");
+
+    private LogMarkers(){
+    }
+}
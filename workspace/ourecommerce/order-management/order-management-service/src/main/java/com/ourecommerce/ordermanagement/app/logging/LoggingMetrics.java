@@ -0,0 +1,43 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes the ring buffer of every {@link MeteredAsyncAppender} attached to the root logger as
+ * {@code logging.async.buffer.*} gauges and {@code logging.async.dropped}.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder{
+
+    @Override
+    public void bindTo(MeterRegistry registry){
+        if(!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)){
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while(appenders.hasNext()){
+            if(appenders.next() instanceof MeteredAsyncAppender appender){
+                Gauge.builder("logging.async.buffer.remaining", appender, MeteredAsyncAppender::remainingCapacity)
+                    .tag("appender", appender.getName())
+                    .register(registry);
+                Gauge.builder("logging.async.buffer.size", appender, MeteredAsyncAppender::getRingBufferSize)
+                    .tag("appender", appender.getName())
+                    .register(registry);
+                FunctionCounter.builder("logging.async.dropped", appender, MeteredAsyncAppender::droppedCount)
+                    .tag("appender", appender.getName())
+                    .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.util.Duration;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring-buffer appender that never blocks the logging thread. An event is dropped when the buffer is full, and
+ * events below WARN are already dropped once less than {@code discardingThreshold} percent of the buffer is free,
+ * keeping room for the ones that matter. Buffer occupancy and drops are published by {@link LoggingMetrics}.
+ */
+public class MeteredAsyncAppender extends LoggingEventAsyncDisruptorAppender{
+
+    private final LongAdder dropped = new LongAdder();
+    private int discardingThreshold = 20;
+
+    public MeteredAsyncAppender(){
+        setAppendTimeout(Duration.buildByMilliseconds(0));
+        addListener(new AppenderListener<>(){
+            @Override
+            public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason){
+                dropped.increment();
+            }
+        });
+    }
+
+    @Override
+    protected void append(ILoggingEvent event){
+        if(isStarted()
+            && event.getLevel().toInt() < Level.WARN_INT
+            && remainingCapacity() * 100L < (long) getRingBufferSize() * discardingThreshold){
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long remainingCapacity(){
+        return isStarted() ? getDisruptor().getRingBuffer().remainingCapacity() : getRingBufferSize();
+    }
+
+    public long droppedCount(){
+        return dropped.sum();
+    }
+
+    public int getDiscardingThreshold(){
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold){
+        this.discardingThreshold = discardingThreshold;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most {@code maxPerSecond} events marked {@link LogMarkers#REQUEST_TRACE} and denies the rest,
+ * so per-request debug logs stay on in production without flooding the pipeline. Unmarked events are untouched.
+ */
+public class RequestTraceSampler extends TurboFilter{
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger acceptedThisSecond = new AtomicInteger();
+    private int maxPerSecond = 10;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t){
+        if(marker == null || !marker.contains(LogMarkers.REQUEST_TRACE)){
+            return FilterReply.NEUTRAL;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long previous = currentSecond.get();
+        if(second != previous && currentSecond.compareAndSet(previous, second)){
+            acceptedThisSecond.set(0);
+        }
+        return acceptedThisSecond.incrementAndGet() <= maxPerSecond ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
+
+    public int getMaxPerSecond(){
+        return maxPerSecond;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond){
+        this.maxPerSecond = maxPerSecond;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ourecommerce.ordermanagement.app.eventhandlers;
+
+import com.ourecommerce.ordermanagement.app.domain.InMemoryProductBlacklist;
+import com.ourecommerce.productmanagement.api.ProductsBlacklistedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MQEventHandlerTest{
+    
+    @Test
+    void convertsMessagesQueuedInTheSingleProductShape(){
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("__TypeId__", "com.ourecommerce.productmanagement.api.ProductBlacklistedEvent");
+        properties.setInferredArgumentType(ProductsBlacklistedEvent.class);
+        Message message = new Message("{\"productId\":\"p1\"}".getBytes(StandardCharsets.UTF_8), properties);
+        
+        Object event = new Jackson2JsonMessageConverter().fromMessage(message);
+        
+        assertThat(event).isInstanceOfSatisfying(ProductsBlacklistedEvent.class,
+            converted -> assertThat(converted.getProductIds()).containsExactly("p1"));
+    }
+    
+    @Test
+    void ignoresEventsWithoutProductIds(){
+        InMemoryProductBlacklist productBlacklist = new InMemoryProductBlacklist(null);
+        MQEventHandler handler = new MQEventHandler(productBlacklist);
+        
+        handler.processBlackList(new ProductsBlacklistedEvent());
+        handler.processBlackList(new ProductsBlacklistedEvent(List.of()));
+        handler.processBlackList(new ProductsBlacklistedEvent(List.of("p1")));
+        
+        assertThat(productBlacklist.isBlacklisted("p1")).isTrue();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ourecommerce.ordermanagement.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestTraceSamplerTest{
+
+    @Test
+    void acceptsMarkedEventsUpToTheRateAndDeniesTheRest(){
+        RequestTraceSampler sampler = new RequestTraceSampler();
+        sampler.setMaxPerSecond(3);
+
+        int accepted = 0;
+        int denied = 0;
+        for(int i = 0; i < 10; i++){
+            FilterReply reply = sampler.decide(LogMarkers.REQUEST_TRACE, null, Level.DEBUG, "trace", null, null);
+            if(reply == FilterReply.ACCEPT){
+                accepted++;
+            }else if(reply == FilterReply.DENY){
+                denied++;
+            }
+        }
+
+        // The loop may straddle a second boundary, which opens a fresh window
+        assertThat(accepted).isBetween(3, 6);
+        assertThat(accepted + denied).isEqualTo(10);
+    }
+
+    @Test
+    void leavesOtherEventsToTheLoggerLevel(){
+        RequestTraceSampler sampler = new RequestTraceSampler();
+        sampler.setMaxPerSecond(0);
+
+        assertThat(sampler.decide(null, null, Level.DEBUG, "plain", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(sampler.decide(MarkerFactory.getMarker("OTHER"), null, Level.DEBUG, "other", null, null))
+            .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(sampler.decide(LogMarkers.REQUEST_TRACE, null, Level.DEBUG, "trace", null, null))
+            .isEqualTo(FilterReply.DENY);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ourecommerce.productmanagement.api;
+
+import java.util.List;
+
+public class BlacklistProductsRequest{
+    
+    private List<String> productIds;
+    
+    public List<String> getProductIds(){
+        return productIds;
+    }
+    
+    public BlacklistProductsRequest setProductIds(List<String> productIds){
+        this.productIds = productIds;
+        return this;
+    }
+}
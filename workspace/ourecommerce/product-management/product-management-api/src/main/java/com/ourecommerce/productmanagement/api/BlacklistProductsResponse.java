@@ -0,0 +1,27 @@
+package com.ourecommerce.productmanagement.api;
+
+import java.util.List;
+
+public class BlacklistProductsResponse{
+    
+    private int blacklisted;
+    private List<String> unknownProductIds;
+    
+    public int getBlacklisted(){
+        return blacklisted;
+    }
+    
+    public BlacklistProductsResponse setBlacklisted(int blacklisted){
+        this.blacklisted = blacklisted;
+        return this;
+    }
+    
+    public List<String> getUnknownProductIds(){
+        return unknownProductIds;
+    }
+    
+    public BlacklistProductsResponse setUnknownProductIds(List<String> unknownProductIds){
+        this.unknownProductIds = unknownProductIds;
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ourecommerce.productmanagement.api;
+
+import java.util.List;
+
+public class BlacklistedProductsResponse{
+    private List<String> productIds;
+    
+    public List<String> getProductIds(){
+        return productIds;
+    }
+    
+    public BlacklistedProductsResponse setProductIds(List<String> productIds){
+        this.productIds = productIds;
+        return this;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ourecommerce.productmanagement.api;
+
+import java.util.Set;
+
+public class ProductChangedEvent{
+    
+    public static final String EXCHANGE = "product_change_exchange";
+    
+    private String productCode;
+    private Long version;
+    private Set<String> changedFields;
+    
+    public String getProductCode(){
+        return productCode;
+    }
+    
+    public ProductChangedEvent setProductCode(String productCode){
+        this.productCode = productCode;
+        return this;
+    }
+    
+    public Long getVersion(){
+        return version;
+    }
+    
+    public ProductChangedEvent setVersion(Long version){
+        this.version = version;
+        return this;
+    }
+    
+    public Set<String> getChangedFields(){
+        return changedFields;
+    }
+    
+    public ProductChangedEvent setChangedFields(Set<String> changedFields){
+        this.changedFields = changedFields;
+        return this;
+    }
+    
+    @Override
+    public String toString(){
+        return "ProductChangedEvent{" +
+            "productCode='" + productCode + '\'' +
+            ", version=" + version +
+            ", changedFields=" + changedFields +
+            '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.ourecommerce.productmanagement.api;
+
+import java.util.List;
+
+/**
+ * A coalesced batch of product changes: each product appears at most once, with its latest version.
+ */
+public class ProductChangesEvent{
+    
+    private List<ProductChangedEvent> changes;
+    
+    public ProductChangesEvent(List<ProductChangedEvent> changes){
+        this.changes = changes;
+    }
+    
+    public ProductChangesEvent(){
+    }
+    
+    public List<ProductChangedEvent> getChanges(){
+        return changes;
+    }
+    
+    public ProductChangesEvent setChanges(List<ProductChangedEvent> changes){
+        this.changes = changes;
+        return this;
+    }
+    
+    @Override
+    public String toString(){
+        return "ProductChangesEvent{" +
+            "changes=" + changes +
+            '}';
+    }
+}
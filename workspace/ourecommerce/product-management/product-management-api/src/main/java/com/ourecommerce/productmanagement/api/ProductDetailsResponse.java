@@ -1,10 +1,14 @@
 package com.ourecommerce.productmanagement.api;
 
+import java.time.Instant;
+
 public class ProductDetailsResponse{
     private String productCode;
     private String name;
     private String description;
     private String status;
+    private Long version;
+    private Instant lastModified;
     
     public String getProductCode(){
         return productCode;
@@ -41,4 +45,22 @@ public class ProductDetailsResponse{
         this.status = status;
         return this;
     }
+    
+    public Long getVersion(){
+        return version;
+    }
+    
+    public ProductDetailsResponse setVersion(Long version){
+        this.version = version;
+        return this;
+    }
+    
+    public Instant getLastModified(){
+        return lastModified;
+    }
+    
+    public ProductDetailsResponse setLastModified(Instant lastModified){
+        this.lastModified = lastModified;
+        return this;
+    }
 }
@@ -0,0 +1,86 @@
+package com.ourecommerce.productmanagement.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the NDJSON stream returned by a product import: a rejected row, a progress update after
+ * each batch, or the final summary.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportReport{
+    
+    public static final String ERROR = "error";
+    public static final String PROGRESS = "progress";
+    public static final String SUMMARY = "summary";
+    
+    private String type;
+    private Long row;
+    private String message;
+    private Long rows;
+    private Long imported;
+    private Long failed;
+    private Long rowsPerSecond;
+    
+    public String getType(){
+        return type;
+    }
+    
+    public ProductImportReport setType(String type){
+        this.type = type;
+        return this;
+    }
+    
+    public Long getRow(){
+        return row;
+    }
+    
+    public ProductImportReport setRow(Long row){
+        this.row = row;
+        return this;
+    }
+    
+    public String getMessage(){
+        return message;
+    }
+    
+    public ProductImportReport setMessage(String message){
+        this.message = message;
+        return this;
+    }
+    
+    public Long getRows(){
+        return rows;
+    }
+    
+    public ProductImportReport setRows(Long rows){
+        this.rows = rows;
+        return this;
+    }
+    
+    public Long getImported(){
+        return imported;
+    }
+    
+    public ProductImportReport setImported(Long imported){
+        this.imported = imported;
+        return this;
+    }
+    
+    public Long getFailed(){
+        return failed;
+    }
+    
+    public ProductImportReport setFailed(Long failed){
+        this.failed = failed;
+        return this;
+    }
+    
+    public Long getRowsPerSecond(){
+        return rowsPerSecond;
+    }
+    
+    public ProductImportReport setRowsPerSecond(Long rowsPerSecond){
+        this.rowsPerSecond = rowsPerSecond;
+        return this;
+    }
+}
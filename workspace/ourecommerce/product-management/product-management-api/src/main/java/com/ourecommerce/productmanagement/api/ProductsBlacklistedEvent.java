@@ -0,0 +1,39 @@
+package com.ourecommerce.productmanagement.api;
+
+import java.util.List;
+
+public class ProductsBlacklistedEvent{
+    private List<String> productIds;
+    
+    public ProductsBlacklistedEvent(List<String> productIds){
+        this.productIds = productIds;
+    }
+    
+    public ProductsBlacklistedEvent(){
+    }
+    
+    public void setProductIds(List<String> productIds){
+        this.productIds = productIds;
+    }
+    
+    public List<String> getProductIds(){
+        return productIds;
+    }
+    
+    /**
+     * Reads the single-product shape of the former {@code ProductBlacklistedEvent}, so messages queued before the
+     * upgrade still convert. Consumers infer the payload type from their listener, so the old type id is not
+     * needed. To be removed once those queues have drained.
+     */
+    @Deprecated(forRemoval = true)
+    public void setProductId(String productId){
+        this.productIds = productId == null ? List.of() : List.of(productId);
+    }
+    
+    @Override
+    public String toString(){
+        return "ProductsBlacklistedEvent{" +
+            "productIds=" + productIds +
+            '}';
+    }
+}
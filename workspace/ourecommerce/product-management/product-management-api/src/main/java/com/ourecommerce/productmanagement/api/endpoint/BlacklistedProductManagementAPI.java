@@ -0,0 +1,18 @@
+package com.ourecommerce.productmanagement.api.endpoint;
+
+import com.ourecommerce.productmanagement.api.BlacklistProductsRequest;
+import com.ourecommerce.productmanagement.api.BlacklistProductsResponse;
+import com.ourecommerce.productmanagement.api.BlacklistedProductsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+
+public interface BlacklistedProductManagementAPI{
+    @GetMapping
+    ResponseEntity<BlacklistedProductsResponse> getBlacklistedProducts();
+    
+    @PostMapping("/bulk")
+    ResponseEntity<BlacklistProductsResponse> blacklistProducts(@RequestBody BlacklistProductsRequest request);
+}
@@ -0,0 +1,8 @@
+package com.ourecommerce.productmanagement.client;
+
+import com.ourecommerce.productmanagement.api.endpoint.BlacklistedProductManagementAPI;
+import org.springframework.cloud.openfeign.FeignClient;
+
+@FeignClient(name = "product-management", contextId = "blacklistedProductManagement", path = "/blacklisted-products")
+public interface BlacklistedProductManagementClient extends BlacklistedProductManagementAPI{
+}
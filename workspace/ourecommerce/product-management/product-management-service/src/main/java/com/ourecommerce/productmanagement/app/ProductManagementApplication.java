@@ -4,8 +4,10 @@ import com.ourecommerce.productmanagement.app.service.SampleService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProductManagementApplication {
     
     public static void main(String[] args) {
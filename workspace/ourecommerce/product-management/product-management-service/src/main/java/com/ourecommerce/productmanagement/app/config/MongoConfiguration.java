@@ -0,0 +1,11 @@
+package com.ourecommerce.productmanagement.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+@Configuration
+@EnableMongoAuditing
+@EnableReactiveMongoAuditing
+public class MongoConfiguration{
+}
@@ -1,5 +1,7 @@
 package com.ourecommerce.productmanagement.app.config;
 
+import com.ourecommerce.productmanagement.api.ProductChangedEvent;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
@@ -16,6 +18,11 @@ public class RabbitMQConfiguration{
         return rabbitTemplate;
     }
     
+    @Bean
+    public FanoutExchange productChangeExchange(){
+        return new FanoutExchange(ProductChangedEvent.EXCHANGE);
+    }
+    
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
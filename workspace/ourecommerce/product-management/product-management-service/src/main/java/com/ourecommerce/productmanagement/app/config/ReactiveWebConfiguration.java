@@ -0,0 +1,18 @@
+package com.ourecommerce.productmanagement.app.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfiguration implements WebFluxConfigurer{
+    
+    // Handlers that still return plain values (e.g. blacklisting) are moved off the event loop
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer){
+        configurer.setExecutor(new VirtualThreadTaskExecutor("product-management-blocking-"));
+    }
+}
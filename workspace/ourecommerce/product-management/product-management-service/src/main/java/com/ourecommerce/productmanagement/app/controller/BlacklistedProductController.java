@@ -1,7 +1,12 @@
 package com.ourecommerce.productmanagement.app.controller;
 
 import com.ourecommerce.productmanagement.api.BlacklistProductRequest;
+import com.ourecommerce.productmanagement.api.BlacklistProductsRequest;
+import com.ourecommerce.productmanagement.api.BlacklistProductsResponse;
+import com.ourecommerce.productmanagement.api.BlacklistedProductsResponse;
+import com.ourecommerce.productmanagement.api.endpoint.BlacklistedProductManagementAPI;
 import com.ourecommerce.productmanagement.app.service.ProductService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -9,7 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/blacklisted-products")
-public class BlacklistedProductController{
+public class BlacklistedProductController implements BlacklistedProductManagementAPI{
     
     private final ProductService productService;
     
@@ -21,4 +26,18 @@ public class BlacklistedProductController{
     public void newBlacklistedProduct(@RequestBody BlacklistProductRequest request){
         productService.blacklistProduct(request.getProductId());
     }
+    
+    @Override
+    public ResponseEntity<BlacklistProductsResponse> blacklistProducts(BlacklistProductsRequest request){
+        if(request.getProductIds() == null){
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.blacklistProducts(request.getProductIds()));
+    }
+    
+    @Override
+    public ResponseEntity<BlacklistedProductsResponse> getBlacklistedProducts(){
+        return ResponseEntity.ok(new BlacklistedProductsResponse()
+            .setProductIds(productService.getBlacklistedProductCodes()));
+    }
 }
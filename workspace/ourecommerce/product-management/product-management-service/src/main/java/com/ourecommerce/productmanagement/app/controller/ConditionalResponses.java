@@ -0,0 +1,60 @@
+package com.ourecommerce.productmanagement.app.controller;
+
+import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Validators shared by the MVC and WebFlux product controllers, so both deployments answer
+ * {@code If-None-Match}/{@code If-Modified-Since} identically.
+ */
+final class ConditionalResponses{
+    
+    private ConditionalResponses(){
+    }
+    
+    static String etag(ProductDetailsResponse product){
+        return "\"" + Objects.requireNonNullElse(product.getVersion(), 0L) + "\"";
+    }
+    
+    // A listing changes when an entry is added or removed (count) or modified (newest lastModified)
+    static String etag(ProductListingVersion listingVersion, String representation){
+        return "\"" + listingVersion.getCount() + "-" + epochMilli(listingVersion.getLastModified()) + "-" + representation + "\"";
+    }
+    
+    // Keyset pages are bounded by their last code, so size, last code and newest change identify the content
+    static String etag(List<ProductDetailsResponse> page){
+        String lastCode = page.isEmpty() ? "" : page.get(page.size() - 1).getProductCode();
+        return "\"" + page.size() + "-" + lastCode + "-" + epochMilli(lastModified(page)) + "\"";
+    }
+    
+    static Instant lastModified(List<ProductDetailsResponse> page){
+        return page.stream()
+            .map(ProductDetailsResponse::getLastModified)
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+    }
+    
+    static long epochMilli(Instant instant){
+        return instant != null ? instant.toEpochMilli() : -1;
+    }
+    
+    static ResponseEntity.BodyBuilder ok(String etag, Instant lastModified, CacheControl cacheControl){
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT);
+        if(lastModified != null){
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
@@ -1,27 +1,64 @@
 package com.ourecommerce.productmanagement.app.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ourecommerce.productmanagement.api.AddNewProductResponse;
 import com.ourecommerce.productmanagement.api.ProductDetailsRequest;
 import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import com.ourecommerce.productmanagement.api.ProductImportReport;
 import com.ourecommerce.productmanagement.api.endpoint.ProductManagementAPI;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+import com.ourecommerce.productmanagement.app.service.ProductImportService;
 import com.ourecommerce.productmanagement.app.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProductController implements ProductManagementAPI{
     
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
     
-    public ProductController(ProductService productService){
+    public ProductController(
+        ProductService productService,
+        ProductImportService productImportService,
+        ObjectMapper objectMapper,
+        @Value("${product-management.http.cache-max-age:30s}") Duration cacheMaxAge
+    ){
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.objectMapper = objectMapper;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge);
     }
     
     @PostMapping
@@ -31,13 +68,138 @@ public class ProductController implements ProductManagementAPI{
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping(path = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importCsv(InputStream body){
+        return streamImport(body, productImportService::importCsv);
+    }
+    
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importNdjson(InputStream body){
+        return streamImport(body, productImportService::importNdjson);
+    }
+    
     public ResponseEntity<ProductDetailsResponse> getProduct(String productCode){
         ProductDetailsResponse product = productService.retrieveProductDetails(productCode);
-        return ResponseEntity.ok(product);
+        return ConditionalResponses.ok(ConditionalResponses.etag(product), product.getLastModified(), cacheControl)
+            .body(product);
     }
     
     @GetMapping
-    public ResponseEntity<List<ProductDetailsResponse>> getProducts(){
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<StreamingResponseBody> getProducts(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status,
+        WebRequest webRequest){
+        return streamListing(webRequest, after, status, MediaType.APPLICATION_JSON);
+    }
+    
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status,
+        WebRequest webRequest){
+        return streamListing(webRequest, after, status, MediaType.APPLICATION_NDJSON);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDetailsResponse>> searchProducts(
+        @RequestParam("q") String query,
+        @RequestParam(name = "limit", defaultValue = "20") int limit){
+        return ResponseEntity.ok(productService.searchProducts(query, limit));
+    }
+    
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocomplete(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(name = "limit", defaultValue = "10") int limit){
+        return ResponseEntity.ok(productService.autocomplete(prefix, limit));
+    }
+    
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<ProductDetailsResponse>> getProductPage(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status,
+        @RequestParam(name = "limit") int limit){
+        int pageSize = productService.pageSize(limit);
+        List<ProductDetailsResponse> page = productService.getProductPage(after, status, pageSize);
+        ResponseEntity.BodyBuilder response = ConditionalResponses.ok(
+            ConditionalResponses.etag(page), ConditionalResponses.lastModified(page), cacheControl);
+        if(page.size() < pageSize){
+            return response.body(page);
+        }
+        
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("after", page.get(page.size() - 1).getProductCode())
+            .toUriString();
+        return response
+            .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+            .body(page);
+    }
+    
+    // The validators come from a single aggregation, so a 304 never opens the listing cursor
+    private ResponseEntity<StreamingResponseBody> streamListing(WebRequest webRequest, String after, String status, MediaType mediaType){
+        ProductListingVersion listingVersion = productService.getListingVersion(after, status);
+        String etag = ConditionalResponses.etag(listingVersion, mediaType.getSubtype());
+        if(webRequest.checkNotModified(etag, ConditionalResponses.epochMilli(listingVersion.getLastModified()))){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+        }
+        
+        boolean delimitWithNewLines = MediaType.APPLICATION_NDJSON.equals(mediaType);
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(mediaType)
+            .body(outputStream -> writeProducts(outputStream, after, status, delimitWithNewLines));
+    }
+    
+    // Rows are read while the response is written, so neither the upload nor the report is buffered
+    private ResponseEntity<StreamingResponseBody> streamImport(InputStream body, Importer importer){
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> {
+                try(BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)){
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    generator.setRootValueSeparator(null);
+                    importer.run(reader, report -> {
+                        try{
+                            generator.writeObject(report);
+                            generator.writeRaw('\n');
+                            if(!ProductImportReport.ERROR.equals(report.getType())){
+                                generator.flush();
+                            }
+                        }catch(IOException e){
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+    }
+    
+    private void writeProducts(OutputStream outputStream, String after, String status, boolean delimitWithNewLines) throws IOException{
+        try(Stream<ProductDetailsResponse> products = productService.streamProducts(after, status);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)){
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if(!delimitWithNewLines){
+                generator.writeStartArray();
+            }
+            for(ProductDetailsResponse product : (Iterable<ProductDetailsResponse>) products::iterator){
+                generator.writeObject(product);
+                if(delimitWithNewLines){
+                    generator.writeRaw('\n');
+                }
+            }
+            if(!delimitWithNewLines){
+                generator.writeEndArray();
+            }
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Importer{
+        ProductImportReport run(BufferedReader reader, Consumer<ProductImportReport> reports) throws IOException;
     }
 }
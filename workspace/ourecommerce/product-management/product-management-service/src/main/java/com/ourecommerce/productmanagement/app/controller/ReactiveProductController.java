@@ -0,0 +1,124 @@
+package com.ourecommerce.productmanagement.app.controller;
+
+import com.ourecommerce.productmanagement.api.AddNewProductResponse;
+import com.ourecommerce.productmanagement.api.ProductDetailsRequest;
+import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import com.ourecommerce.productmanagement.app.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * WebFlux counterpart of {@link ProductController}, serving the same HTTP contract as
+ * {@link com.ourecommerce.productmanagement.api.endpoint.ProductManagementAPI} without holding a thread per request.
+ */
+@RestController
+@RequestMapping("/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductController{
+    
+    private final ReactiveProductService productService;
+    private final CacheControl cacheControl;
+    
+    public ReactiveProductController(
+        ReactiveProductService productService,
+        @Value("${product-management.http.cache-max-age:30s}") Duration cacheMaxAge
+    ){
+        this.productService = productService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge);
+    }
+    
+    @PostMapping
+    public Mono<ResponseEntity<AddNewProductResponse>> registerNewProduct(
+        @RequestBody ProductDetailsRequest newProductRequest){
+        return productService.registerNewProduct(newProductRequest)
+            .map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/{productCode}")
+    public Mono<ResponseEntity<ProductDetailsResponse>> getProduct(@PathVariable("productCode") String productCode){
+        return productService.retrieveProductDetails(productCode)
+            .map(product -> ConditionalResponses.ok(ConditionalResponses.etag(product), product.getLastModified(), cacheControl)
+                .body(product))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Flux<ProductDetailsResponse>>> getProducts(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status){
+        return streamListing(after, status, MediaType.APPLICATION_JSON);
+    }
+    
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<ProductDetailsResponse>>> streamProducts(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status){
+        return streamListing(after, status, MediaType.APPLICATION_NDJSON);
+    }
+    
+    @GetMapping("/search")
+    public Flux<ProductDetailsResponse> searchProducts(
+        @RequestParam("q") String query,
+        @RequestParam(name = "limit", defaultValue = "20") int limit){
+        return productService.searchProducts(query, limit);
+    }
+    
+    @GetMapping("/autocomplete")
+    public Mono<List<String>> autocomplete(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(name = "limit", defaultValue = "10") int limit){
+        return Mono.fromSupplier(() -> productService.autocomplete(prefix, limit));
+    }
+    
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<List<ProductDetailsResponse>>> getProductPage(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "status", required = false) String status,
+        @RequestParam(name = "limit") int limit,
+        ServerHttpRequest request){
+        int pageSize = productService.pageSize(limit);
+        return productService.getProductPage(after, status, pageSize)
+            .collectList()
+            .map(page -> {
+                ResponseEntity.BodyBuilder response = ConditionalResponses.ok(
+                    ConditionalResponses.etag(page), ConditionalResponses.lastModified(page), cacheControl);
+                if(page.size() < pageSize){
+                    return response.body(page);
+                }
+                
+                String next = UriComponentsBuilder.fromUri(request.getURI())
+                    .replaceQueryParam("after", page.get(page.size() - 1).getProductCode())
+                    .toUriString();
+                return response
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                    .body(page);
+            });
+    }
+    
+    // The result handler answers 304 from these headers before subscribing to the listing
+    private Mono<ResponseEntity<Flux<ProductDetailsResponse>>> streamListing(String after, String status, MediaType mediaType){
+        return productService.getListingVersion(after, status)
+            .map(listingVersion -> ConditionalResponses.ok(
+                    ConditionalResponses.etag(listingVersion, mediaType.getSubtype()), listingVersion.getLastModified(), cacheControl)
+                .contentType(mediaType)
+                .body(productService.streamProducts(after, status)));
+    }
+}
@@ -1,9 +1,15 @@
 package com.ourecommerce.productmanagement.app.document;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Document(collection = "pm_product")
+@CompoundIndex(name = "status_id", def = "{ 'status': 1, '_id': 1 }")
 public class Product{
     
     @Id
@@ -11,6 +17,10 @@ public class Product{
     private String name;
     private String description;
     private String status;
+    @Version
+    private Long version;
+    @LastModifiedDate
+    private Instant lastModified;
     
     public String getId(){
         return id;
@@ -47,4 +57,22 @@ public class Product{
         this.status = status;
         return this;
     }
+    
+    public Long getVersion(){
+        return version;
+    }
+    
+    public Product setVersion(Long version){
+        this.version = version;
+        return this;
+    }
+    
+    public Instant getLastModified(){
+        return lastModified;
+    }
+    
+    public Product setLastModified(Instant lastModified){
+        this.lastModified = lastModified;
+        return this;
+    }
 }
@@ -0,0 +1,30 @@
+package com.ourecommerce.productmanagement.app.document;
+
+import java.time.Instant;
+
+/**
+ * Cheap fingerprint of a product listing: changes whenever a product in it is added, removed or modified.
+ */
+public class ProductListingVersion{
+    
+    private long count;
+    private Instant lastModified;
+    
+    public long getCount(){
+        return count;
+    }
+    
+    public ProductListingVersion setCount(long count){
+        this.count = count;
+        return this;
+    }
+    
+    public Instant getLastModified(){
+        return lastModified;
+    }
+    
+    public ProductListingVersion setLastModified(Instant lastModified){
+        this.lastModified = lastModified;
+        return this;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ourecommerce.productmanagement.app.repository;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+
+final class ProductQueries{
+    
+    private ProductQueries(){
+    }
+    
+    // Seeks on (status, _id) instead of skipping, so every page costs the same regardless of depth
+    static Query keyset(String after, String status){
+        return new Query(keysetCriteria(after, status)).with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+    
+    static TypedAggregation<Product> listingVersion(String after, String status){
+        return Aggregation.newAggregation(Product.class,
+            Aggregation.match(keysetCriteria(after, status)),
+            Aggregation.group().count().as("count").max("lastModified").as("lastModified"));
+    }
+    
+    static Query byIds(Collection<String> ids){
+        return Query.query(Criteria.where("_id").in(ids));
+    }
+    
+    static Query idsOf(Collection<String> ids){
+        Query query = byIds(ids);
+        query.fields().include("_id");
+        return query;
+    }
+    
+    static Query notInStatus(Collection<String> ids, String status){
+        return Query.query(Criteria.where("_id").in(ids).and("status").ne(status));
+    }
+    
+    static Query versionsOf(Collection<String> ids){
+        Query query = byIds(ids);
+        query.fields().include("_id", "version");
+        return query;
+    }
+    
+    // Bumps version and lastModified in the same write so cached representations are invalidated
+    static Update statusChange(String status){
+        return new Update()
+            .set("status", status)
+            .set("lastModified", Instant.now())
+            .inc("version", 1);
+    }
+    
+    private static Criteria keysetCriteria(String after, String status){
+        Criteria criteria = new Criteria();
+        if(status != null){
+            criteria.and("status").is(status);
+        }
+        if(after != null){
+            criteria.and("_id").gt(after);
+        }
+        return criteria;
+    }
+}
@@ -2,6 +2,12 @@ package com.ourecommerce.productmanagement.app.repository;
 
 import com.ourecommerce.productmanagement.app.document.Product;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface ProductRepository extends MongoRepository<Product, String>{
+import java.util.List;
+
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom{
+    
+    @Query(value = "{ 'status': ?0 }", fields = "{ '_id': 1 }")
+    List<Product> findIdsByStatus(String status);
 }
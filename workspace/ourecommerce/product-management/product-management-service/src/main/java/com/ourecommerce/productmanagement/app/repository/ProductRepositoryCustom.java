@@ -0,0 +1,31 @@
+package com.ourecommerce.productmanagement.app.repository;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom{
+    
+    List<Product> findPage(String after, String status, int limit);
+    
+    Stream<Product> streamAll(String after, String status);
+    
+    ProductListingVersion findListingVersion(String after, String status);
+    
+    /**
+     * Updates every given product not already in the status in a single write and returns the id and new version
+     * of those it changed. Products already in the status keep their version.
+     */
+    List<Product> updateStatus(Collection<String> ids, String status);
+    
+    List<String> findExistingIds(Collection<String> ids);
+    
+    /**
+     * Inserts without stopping at the first failure, returning the error of each rejected document by its position.
+     */
+    Map<Integer, String> bulkInsert(List<Product> products);
+}
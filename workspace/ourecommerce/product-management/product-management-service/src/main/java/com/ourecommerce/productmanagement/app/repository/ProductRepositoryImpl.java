@@ -0,0 +1,77 @@
+package com.ourecommerce.productmanagement.app.repository;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom{
+    
+    private final MongoTemplate mongoTemplate;
+    
+    ProductRepositoryImpl(MongoTemplate mongoTemplate){
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public List<Product> findPage(String after, String status, int limit){
+        return mongoTemplate.find(ProductQueries.keyset(after, status).limit(limit), Product.class);
+    }
+    
+    @Override
+    public Stream<Product> streamAll(String after, String status){
+        return mongoTemplate.stream(ProductQueries.keyset(after, status), Product.class);
+    }
+    
+    @Override
+    public ProductListingVersion findListingVersion(String after, String status){
+        ProductListingVersion listingVersion = mongoTemplate
+            .aggregate(ProductQueries.listingVersion(after, status), ProductListingVersion.class)
+            .getUniqueMappedResult();
+        return listingVersion != null ? listingVersion : new ProductListingVersion();
+    }
+    
+    @Override
+    public List<Product> updateStatus(Collection<String> ids, String status){
+        Query pending = ProductQueries.notInStatus(ids, status);
+        pending.fields().include("_id");
+        List<String> changing = mongoTemplate.find(pending, Product.class).stream()
+            .map(Product::getId)
+            .toList();
+        if(changing.isEmpty()){
+            return List.of();
+        }
+        // The status criterion stays on the write, so a concurrent change to the same status is not applied twice
+        mongoTemplate.updateMulti(ProductQueries.notInStatus(changing, status), ProductQueries.statusChange(status), Product.class);
+        return mongoTemplate.find(ProductQueries.versionsOf(changing), Product.class);
+    }
+    
+    @Override
+    public List<String> findExistingIds(Collection<String> ids){
+        return mongoTemplate.find(ProductQueries.idsOf(ids), Product.class).stream()
+            .map(Product::getId)
+            .toList();
+    }
+    
+    @Override
+    public Map<Integer, String> bulkInsert(List<Product> products){
+        try{
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)
+                .insert(products)
+                .execute();
+            return Map.of();
+        }catch(BulkOperationException e){
+            return e.getErrors().stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        }
+    }
+}
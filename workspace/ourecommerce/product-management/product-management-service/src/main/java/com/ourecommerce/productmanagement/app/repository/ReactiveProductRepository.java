@@ -0,0 +1,7 @@
+package com.ourecommerce.productmanagement.app.repository;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String>, ReactiveProductRepositoryCustom{
+}
@@ -0,0 +1,15 @@
+package com.ourecommerce.productmanagement.app.repository;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProductRepositoryCustom{
+    
+    Flux<Product> findPage(String after, String status, int limit);
+    
+    Flux<Product> streamAll(String after, String status);
+    
+    Mono<ProductListingVersion> findListingVersion(String after, String status);
+}
@@ -0,0 +1,33 @@
+package com.ourecommerce.productmanagement.app.repository;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveProductRepositoryImpl implements ReactiveProductRepositoryCustom{
+    
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    
+    ReactiveProductRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate){
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+    
+    @Override
+    public Flux<Product> findPage(String after, String status, int limit){
+        return reactiveMongoTemplate.find(ProductQueries.keyset(after, status).limit(limit), Product.class);
+    }
+    
+    @Override
+    public Flux<Product> streamAll(String after, String status){
+        return reactiveMongoTemplate.find(ProductQueries.keyset(after, status), Product.class);
+    }
+    
+    @Override
+    public Mono<ProductListingVersion> findListingVersion(String after, String status){
+        return reactiveMongoTemplate.aggregate(ProductQueries.listingVersion(after, status), ProductListingVersion.class)
+            .next()
+            .defaultIfEmpty(new ProductListingVersion());
+    }
+}
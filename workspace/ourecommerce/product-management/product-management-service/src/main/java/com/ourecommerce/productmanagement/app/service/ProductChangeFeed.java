@@ -0,0 +1,164 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.api.ProductChangedEvent;
+import com.ourecommerce.productmanagement.api.ProductChangesEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects product writes and publishes them to the change exchange in batches. Changes to the same
+ * product between two flushes are merged, so a burst of updates costs consumers a single invalidation.
+ * Publishing only happens on the scheduler thread; a full batch wakes it early instead of being sent on the
+ * writer's thread. While the broker is unreachable changes keep merging up to a bound, past which changes to
+ * further products are dropped and left to the consumers' cache expiry.
+ */
+@Component
+public class ProductChangeFeed implements SchedulingConfigurer{
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductChangeFeed.class);
+    
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String STATUS = "status";
+    public static final Set<String> ALL_FIELDS = Set.of(NAME, DESCRIPTION, STATUS);
+    
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final int maxPending;
+    private final Duration flushInterval;
+    private final Counter dropped;
+    private final Map<String, ProductChangedEvent> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean publishFailing;
+    private ScheduledTaskRegistrar taskRegistrar;
+    
+    public ProductChangeFeed(
+        RabbitTemplate rabbitTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${product-management.change-feed.batch-size:500}") int batchSize,
+        @Value("${product-management.change-feed.max-pending:100000}") int maxPending,
+        @Value("${product-management.change-feed.flush-interval:500ms}") Duration flushInterval
+    ){
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.flushInterval = flushInterval;
+        this.dropped = Counter.builder("product.change.feed.dropped")
+            .description("Product changes dropped because too many were waiting to be published")
+            .register(meterRegistry);
+        Gauge.builder("product.change.feed.pending", pending, Map::size)
+            .register(meterRegistry);
+    }
+    
+    public void record(String productCode, Long version, Set<String> changedFields){
+        ProductChangedEvent change = new ProductChangedEvent().setProductCode(productCode).setVersion(version).setChangedFields(changedFields);
+        // Changes to products already waiting still merge, so the bound only turns away new products
+        if(pending.size() >= maxPending){
+            if(pending.computeIfPresent(productCode, (code, previous) -> coalesce(previous, change)) == null){
+                dropped.increment();
+            }
+            return;
+        }
+        pending.merge(productCode, change, ProductChangeFeed::coalesce);
+        if(pending.size() >= batchSize && !publishFailing && flushRequested.compareAndSet(false, true)){
+            requestFlush();
+        }
+    }
+    
+    // Registered here rather than with @Scheduled, which does not accept durations such as 500ms
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar){
+        this.taskRegistrar = taskRegistrar;
+        taskRegistrar.addFixedDelayTask(this::flush, flushInterval);
+    }
+    
+    private void requestFlush(){
+        TaskScheduler scheduler = taskRegistrar == null ? null : taskRegistrar.getScheduler();
+        if(scheduler == null){
+            flushRequested.set(false);
+            return;
+        }
+        scheduler.schedule(this::flush, Instant.now());
+    }
+    
+    public void flush(){
+        flushRequested.set(false);
+        flushLock.lock();
+        try{
+            publishPending();
+        }finally{
+            flushLock.unlock();
+        }
+    }
+    
+    private void publishPending(){
+        List<ProductChangedEvent> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        Iterator<String> productCodes = pending.keySet().iterator();
+        while(productCodes.hasNext()){
+            ProductChangedEvent change = pending.remove(productCodes.next());
+            if(change != null){
+                batch.add(change);
+            }
+            if(batch.size() == batchSize){
+                if(!send(batch)){
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if(!batch.isEmpty()){
+            send(batch);
+        }
+    }
+    
+    // A batch that cannot be published goes back to pending, merged with any newer change, for the next flush
+    private boolean send(List<ProductChangedEvent> batch){
+        try{
+            rabbitTemplate.convertAndSend(ProductChangedEvent.EXCHANGE, "", new ProductChangesEvent(batch));
+            publishFailing = false;
+            return true;
+        }catch(AmqpException e){
+            publishFailing = true;
+            LOGGER.warn("Could not publish {} product changes, retrying on the next flush", batch.size(), e);
+            for(ProductChangedEvent change : batch){
+                pending.merge(change.getProductCode(), change, ProductChangeFeed::coalesce);
+            }
+            return false;
+        }
+    }
+    
+    private static ProductChangedEvent coalesce(ProductChangedEvent previous, ProductChangedEvent next){
+        Set<String> changedFields = new HashSet<>(previous.getChangedFields());
+        changedFields.addAll(next.getChangedFields());
+        Long version = previous.getVersion() == null || next.getVersion() != null && next.getVersion() > previous.getVersion()
+            ? next.getVersion()
+            : previous.getVersion();
+        return new ProductChangedEvent()
+            .setProductCode(next.getProductCode())
+            .setVersion(version)
+            .setChangedFields(changedFields);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Answers lookups of product codes that were never registered without reaching the cache or Mongo. The Bloom
+ * filter knows codes loaded at startup, written here, or received on the change feed. A code registered on
+ * another instance is only missing until that instance's change feed flushes, so codes the filter has not seen
+ * still go to Mongo when they are ids minted within that window; everything else, malformed ids included, is
+ * a definite miss. Until the startup load completes every code is let through.
+ */
+@Component
+public class ProductCodeFilter{
+    
+    private final BloomFilter bloomFilter;
+    private final long recentMillis;
+    private final Counter shortCircuited;
+    private final Counter falsePositives;
+    private volatile boolean loaded;
+    
+    /**
+     * @param insertMargin added to the flush interval to cover ids minted ahead of their insert, clock skew and
+     *                     the whole seconds of the id timestamp
+     */
+    public ProductCodeFilter(
+        MeterRegistry meterRegistry,
+        @Value("${product-management.code-filter.expected-products:1000000}") long expectedProducts,
+        @Value("${product-management.code-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+        @Value("${product-management.change-feed.flush-interval:500ms}") Duration flushInterval,
+        @Value("${product-management.code-filter.insert-margin:5s}") Duration insertMargin
+    ){
+        this.bloomFilter = new BloomFilter(expectedProducts, falsePositiveProbability);
+        this.recentMillis = flushInterval.plus(insertMargin).toMillis();
+        this.shortCircuited = Counter.builder("product.lookup.short.circuited")
+            .description("Lookups of unknown product codes answered without reaching Mongo")
+            .register(meterRegistry);
+        this.falsePositives = Counter.builder("product.lookup.false.positives")
+            .description("Lookups that passed the filter but found no product")
+            .register(meterRegistry);
+        Gauge.builder("product.code.filter.false.positive.probability", bloomFilter, BloomFilter::expectedFalsePositiveProbability)
+            .register(meterRegistry);
+    }
+    
+    public void add(String productCode){
+        bloomFilter.add(productCode);
+    }
+    
+    public void markLoaded(){
+        loaded = true;
+    }
+    
+    public boolean mightContain(String productCode){
+        return !loaded || bloomFilter.mightContain(productCode);
+    }
+    
+    /**
+     * True when the code cannot name a product, so the lookup can be answered as not found right away.
+     */
+    public boolean isDefinitelyAbsent(String productCode){
+        if(mightContain(productCode) || isRecentId(productCode)){
+            return false;
+        }
+        shortCircuited.increment();
+        return true;
+    }
+    
+    /**
+     * Records the outcome of a Mongo lookup. Unseen codes that turn up were registered on another instance and
+     * are added; misses on codes that passed the filter are false positives.
+     */
+    public void recordLookup(String productCode, boolean filtered, boolean found){
+        if(filtered && found){
+            add(productCode);
+        }else if(!filtered && !found && loaded){
+            falsePositives.increment();
+        }
+    }
+    
+    private boolean isRecentId(String productCode){
+        if(!ObjectId.isValid(productCode)){
+            return false;
+        }
+        long age = System.currentTimeMillis() - new ObjectId(productCode).getTimestamp() * 1000L;
+        return Math.abs(age) <= recentMillis;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ourecommerce.productmanagement.api.ProductChangedEvent;
+import com.ourecommerce.productmanagement.api.ProductChangesEvent;
+import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded near-cache of product details. Writes on this instance invalidate immediately; writes on other
+ * instances arrive through the change feed, on a queue private to this instance, which also teaches the
+ * {@link ProductCodeFilter} the codes registered elsewhere.
+ */
+@Component
+public class ProductDetailsCache{
+    
+    private static final String CACHE_NAME = "product-details";
+    
+    private final Cache<String, ProductDetailsResponse> cache;
+    private final ProductCodeFilter productCodeFilter;
+    
+    public ProductDetailsCache(
+        MeterRegistry meterRegistry,
+        ProductCodeFilter productCodeFilter,
+        @Value("${product-management.details-cache.maximum-size:10000}") long maximumSize,
+        @Value("${product-management.details-cache.time-to-live:10m}") Duration timeToLive
+    ){
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.productCodeFilter = productCodeFilter;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Returns null, without caching anything, when the loader finds no product.
+     */
+    public ProductDetailsResponse get(String productCode, Function<String, ProductDetailsResponse> loader){
+        return cache.get(productCode, loader);
+    }
+    
+    public ProductDetailsResponse getIfPresent(String productCode){
+        return cache.getIfPresent(productCode);
+    }
+    
+    public void put(ProductDetailsResponse product){
+        cache.put(product.getProductCode(), product);
+    }
+    
+    public void invalidate(String productCode){
+        cache.invalidate(productCode);
+    }
+    
+    @RabbitListener(bindings = @QueueBinding(
+        value = @Queue,
+        exchange = @Exchange(value = ProductChangedEvent.EXCHANGE, type = ExchangeTypes.FANOUT)))
+    public void onProductChanges(ProductChangesEvent event){
+        List<String> productCodes = event.getChanges().stream()
+            .map(ProductChangedEvent::getProductCode)
+            .toList();
+        productCodes.forEach(productCodeFilter::add);
+        cache.invalidateAll(productCodes);
+    }
+}
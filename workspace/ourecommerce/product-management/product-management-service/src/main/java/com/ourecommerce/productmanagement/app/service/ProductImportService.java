@@ -0,0 +1,211 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ourecommerce.productmanagement.api.ProductDetailsRequest;
+import com.ourecommerce.productmanagement.api.ProductImportReport;
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.repository.ProductRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Imports products from CSV (with a {@code name,description} header) or NDJSON, one line at a time,
+ * so only a single batch is ever held in memory.
+ */
+@Service
+public class ProductImportService{
+    
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductChangeFeed changeFeed;
+    private final ProductCodeFilter productCodeFilter;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    
+    public ProductImportService(
+        ProductRepository productRepository,
+        ProductSearchIndex searchIndex,
+        ProductChangeFeed changeFeed,
+        ProductCodeFilter productCodeFilter,
+        ObjectMapper objectMapper,
+        @Value("${product-management.import.batch-size:1000}") int batchSize
+    ){
+        this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+        this.changeFeed = changeFeed;
+        this.productCodeFilter = productCodeFilter;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+    
+    public ProductImportReport importCsv(BufferedReader reader, Consumer<ProductImportReport> reports) throws IOException{
+        String header = reader.readLine();
+        List<String> columns = header == null ? List.of() : splitCsvLine(header).stream()
+            .map(column -> column.strip().toLowerCase(Locale.ROOT))
+            .toList();
+        int nameColumn = columns.indexOf("name");
+        int descriptionColumn = columns.indexOf("description");
+        if(nameColumn < 0){
+            ProductImportReport summary = new ProductImportReport()
+                .setType(ProductImportReport.SUMMARY)
+                .setRows(0L)
+                .setImported(0L)
+                .setFailed(0L)
+                .setMessage("CSV header must contain a 'name' column");
+            reports.accept(summary);
+            return summary;
+        }
+        
+        return importLines(reader, 1, reports, line -> {
+            List<String> fields = splitCsvLine(line);
+            return new ProductDetailsRequest()
+                .setName(field(fields, nameColumn))
+                .setDescription(field(fields, descriptionColumn));
+        });
+    }
+    
+    public ProductImportReport importNdjson(BufferedReader reader, Consumer<ProductImportReport> reports) throws IOException{
+        return importLines(reader, 0, reports, line -> objectMapper.readValue(line, ProductDetailsRequest.class));
+    }
+    
+    private ProductImportReport importLines(
+        BufferedReader reader,
+        long firstRow,
+        Consumer<ProductImportReport> reports,
+        RowParser rowParser
+    ) throws IOException{
+        long startedAt = System.nanoTime();
+        long row = firstRow;
+        long imported = 0;
+        long failed = 0;
+        List<Product> batch = new ArrayList<>(batchSize);
+        List<Long> batchRows = new ArrayList<>(batchSize);
+        
+        String line;
+        while((line = reader.readLine()) != null){
+            row++;
+            if(line.isBlank()){
+                continue;
+            }
+            
+            try{
+                batch.add(toProduct(rowParser.parse(line)));
+                batchRows.add(row);
+            }catch(IOException | IllegalArgumentException e){
+                failed++;
+                reports.accept(rowError(row, e.getMessage()));
+            }
+            
+            if(batch.size() == batchSize){
+                int rejected = flush(batch, batchRows, reports);
+                imported += batch.size() - rejected;
+                failed += rejected;
+                batch.clear();
+                batchRows.clear();
+                reports.accept(counts(ProductImportReport.PROGRESS, row - firstRow, imported, failed, startedAt));
+            }
+        }
+        if(!batch.isEmpty()){
+            int rejected = flush(batch, batchRows, reports);
+            imported += batch.size() - rejected;
+            failed += rejected;
+        }
+        
+        ProductImportReport summary = counts(ProductImportReport.SUMMARY, row - firstRow, imported, failed, startedAt);
+        reports.accept(summary);
+        return summary;
+    }
+    
+    private int flush(List<Product> batch, List<Long> batchRows, Consumer<ProductImportReport> reports){
+        Map<Integer, String> errors = productRepository.bulkInsert(batch);
+        errors.forEach((index, message) -> reports.accept(rowError(batchRows.get(index), message)));
+        for(int i = 0; i < batch.size(); i++){
+            if(!errors.containsKey(i)){
+                Product product = batch.get(i);
+                searchIndex.add(product);
+                productCodeFilter.add(product.getId());
+                changeFeed.record(product.getId(), product.getVersion(), ProductChangeFeed.ALL_FIELDS);
+            }
+        }
+        return errors.size();
+    }
+    
+    // Ids are assigned up front so that rows rejected by an unordered bulk write can still be reported
+    private static Product toProduct(ProductDetailsRequest request){
+        if(request == null || request.getName() == null || request.getName().isBlank()){
+            throw new IllegalArgumentException("name is required");
+        }
+        return ProductService.resolveProductFrom(request)
+            .setId(new ObjectId().toHexString())
+            .setVersion(0L)
+            .setLastModified(Instant.now());
+    }
+    
+    private static ProductImportReport rowError(long row, String message){
+        return new ProductImportReport()
+            .setType(ProductImportReport.ERROR)
+            .setRow(row)
+            .setMessage(message);
+    }
+    
+    private static ProductImportReport counts(String type, long rows, long imported, long failed, long startedAt){
+        long elapsedNanos = Math.max(System.nanoTime() - startedAt, 1);
+        return new ProductImportReport()
+            .setType(type)
+            .setRows(rows)
+            .setImported(imported)
+            .setFailed(failed)
+            .setRowsPerSecond(imported * 1_000_000_000L / elapsedNanos);
+    }
+    
+    private static String field(List<String> fields, int column){
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+    
+    // RFC 4180 fields on a single line: comma separated, optionally quoted with "" as an escaped quote
+    private static List<String> splitCsvLine(String line){
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for(int i = 0; i < line.length(); i++){
+            char c = line.charAt(i);
+            if(quoted){
+                if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"'){
+                    field.append('"');
+                    i++;
+                }else if(c == '"'){
+                    quoted = false;
+                }else{
+                    field.append(c);
+                }
+            }else if(c == '"'){
+                quoted = true;
+            }else if(c == ','){
+                fields.add(field.toString());
+                field.setLength(0);
+            }else{
+                field.append(c);
+            }
+        }
+        if(quoted){
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    @FunctionalInterface
+    private interface RowParser{
+        ProductDetailsRequest parse(String line) throws IOException;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown for unknown product codes. Carries no stack trace, since probing random codes is routine traffic.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductNotFoundException extends RuntimeException{
+    
+    public ProductNotFoundException(String productCode){
+        super("Product " + productCode + " not found", null, false, false);
+    }
+}
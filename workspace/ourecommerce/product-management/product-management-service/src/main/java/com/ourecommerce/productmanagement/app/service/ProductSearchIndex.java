@@ -0,0 +1,253 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process index over product names and descriptions. Terms are kept in a sorted dictionary so that
+ * autocomplete is a range scan, and each term points to the sorted ids of the products containing it, so a
+ * search walks the postings in id order and stops as soon as it has {@code limit} matches.
+ */
+@Component
+public class ProductSearchIndex{
+    
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    
+    private final ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+    
+    public void add(Product product){
+        Stream.of(product.getName(), product.getDescription())
+            .flatMap(ProductSearchIndex::tokenize)
+            .distinct()
+            .forEach(term -> postings.computeIfAbsent(term, key -> new Posting()).add(product.getId()));
+    }
+    
+    public int termCount(){
+        return postings.size();
+    }
+    
+    public List<String> autocomplete(String prefix, int limit){
+        String normalized = normalize(prefix);
+        if(normalized.isEmpty()){
+            return List.of();
+        }
+        return withPrefix(normalized).keySet().stream()
+            .limit(limit)
+            .toList();
+    }
+    
+    /**
+     * Ids of the products matching every token of the query, the last token also matching as a prefix
+     * and the others tolerating a single typo.
+     */
+    public List<String> search(String query, int limit){
+        List<String> tokens = tokenize(query).toList();
+        if(tokens.isEmpty()){
+            return List.of();
+        }
+        
+        // Each token matches the union of a few postings; the smallest union drives, the others are probed
+        List<List<Posting>> matches = new ArrayList<>(tokens.size());
+        for(int i = 0; i < tokens.size(); i++){
+            List<Posting> union = resolve(tokens.get(i), i == tokens.size() - 1);
+            if(union.isEmpty()){
+                return List.of();
+            }
+            matches.add(union);
+        }
+        matches.sort(Comparator.comparingInt(ProductSearchIndex::size));
+        
+        List<List<Posting>> others = matches.subList(1, matches.size());
+        List<String> results = new ArrayList<>(Math.min(limit, 64));
+        Iterator<String> candidates = new SortedUnion(matches.get(0));
+        while(results.size() < limit && candidates.hasNext()){
+            String id = candidates.next();
+            if(others.stream().allMatch(union -> contains(union, id))){
+                results.add(id);
+            }
+        }
+        return results;
+    }
+    
+    private List<Posting> resolve(String token, boolean asPrefix){
+        Posting exact = postings.get(token);
+        if(!asPrefix && exact != null){
+            return List.of(exact);
+        }
+        
+        List<Posting> union = new ArrayList<>();
+        if(asPrefix){
+            withPrefix(token).values().stream()
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .forEach(union::add);
+        }
+        if(union.isEmpty() && token.length() >= MIN_FUZZY_LENGTH){
+            for(String term : oneEditTerms(token)){
+                union.add(postings.get(term));
+            }
+        }
+        return union;
+    }
+    
+    /**
+     * Indexed terms one substitution, insertion or deletion away from {@code token}, the first character
+     * excepted. Rather than scanning the dictionary, each edit position looks up the few spellings the
+     * dictionary can hold there, found by jumping over the distinct characters that follow the shared prefix,
+     * so the cost depends on the token and alphabet and not on the number of terms.
+     */
+    Set<String> oneEditTerms(String token){
+        Set<String> terms = new LinkedHashSet<>();
+        for(int position = 1; position <= token.length(); position++){
+            String prefix = token.substring(0, position);
+            String rest = token.substring(position);
+            if(!rest.isEmpty()){
+                addIfIndexed(terms, prefix + rest.substring(1));
+            }
+            String next = postings.higherKey(prefix);
+            while(next != null && next.startsWith(prefix) && next.length() > position){
+                char c = next.charAt(position);
+                addIfIndexed(terms, prefix + c + rest);
+                if(!rest.isEmpty() && c != rest.charAt(0)){
+                    addIfIndexed(terms, prefix + c + rest.substring(1));
+                }
+                if(c == Character.MAX_VALUE){
+                    break;
+                }
+                next = postings.ceilingKey(prefix + (char) (c + 1));
+            }
+        }
+        terms.remove(token);
+        return terms;
+    }
+    
+    private void addIfIndexed(Set<String> terms, String term){
+        if(postings.containsKey(term)){
+            terms.add(term);
+        }
+    }
+    
+    private NavigableMap<String, Posting> withPrefix(String prefix){
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+    
+    private static int size(List<Posting> union){
+        int size = 0;
+        for(Posting posting : union){
+            size += posting.size();
+        }
+        return size;
+    }
+    
+    private static boolean contains(List<Posting> union, String id){
+        for(Posting posting : union){
+            if(posting.ids.contains(id)){
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Stream<String> tokenize(String text){
+        return TOKEN_SEPARATOR.splitAsStream(normalize(text))
+            .filter(token -> !token.isEmpty())
+            .distinct();
+    }
+    
+    private static String normalize(String text){
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).strip();
+    }
+    
+    /**
+     * Ids of the products containing one term, in id order. The size is tracked separately because sizing a
+     * skip list walks it.
+     */
+    private static final class Posting{
+        
+        private final NavigableSet<String> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+        
+        void add(String id){
+            if(ids.add(id)){
+                size.incrementAndGet();
+            }
+        }
+        
+        int size(){
+            return size.get();
+        }
+    }
+    
+    /**
+     * Merges sorted postings into one ascending sequence without duplicates, reading each only as far as needed.
+     */
+    private static final class SortedUnion implements Iterator<String>{
+        
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing((Cursor cursor) -> cursor.current));
+        private String last;
+        
+        SortedUnion(List<Posting> union){
+            for(Posting posting : union){
+                Iterator<String> ids = posting.ids.iterator();
+                if(ids.hasNext()){
+                    cursors.add(new Cursor(ids));
+                }
+            }
+        }
+        
+        @Override
+        public boolean hasNext(){
+            while(!cursors.isEmpty() && cursors.peek().current.equals(last)){
+                advance();
+            }
+            return !cursors.isEmpty();
+        }
+        
+        @Override
+        public String next(){
+            if(!hasNext()){
+                throw new NoSuchElementException();
+            }
+            last = cursors.peek().current;
+            advance();
+            return last;
+        }
+        
+        private void advance(){
+            Cursor cursor = cursors.poll();
+            if(cursor.ids.hasNext()){
+                cursor.current = cursor.ids.next();
+                cursors.add(cursor);
+            }
+        }
+    }
+    
+    private static final class Cursor{
+        
+        private final Iterator<String> ids;
+        private String current;
+        
+        Cursor(Iterator<String> ids){
+            this.ids = ids;
+            this.current = ids.next();
+        }
+    }
+}
@@ -1,38 +1,130 @@
 package com.ourecommerce.productmanagement.app.service;
 
 import com.ourecommerce.productmanagement.api.AddNewProductResponse;
-import com.ourecommerce.productmanagement.api.ProductBlacklistedEvent;
+import com.ourecommerce.productmanagement.api.BlacklistProductsResponse;
 import com.ourecommerce.productmanagement.api.ProductDetailsRequest;
 import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import com.ourecommerce.productmanagement.api.ProductsBlacklistedEvent;
 import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
 import com.ourecommerce.productmanagement.app.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService{
     
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductService.class);
+    
+    private static final String BLACKLISTED_STATUS = "BLACKLISTED";
+    
     private final RabbitTemplate rabbitTemplate;
     private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductChangeFeed changeFeed;
+    private final ProductDetailsCache productDetailsCache;
+    private final ProductCodeFilter productCodeFilter;
+    private final int maxPageSize;
+    private final int blacklistEventBatchSize;
     
-    public ProductService(RabbitTemplate rabbitTemplate, ProductRepository productRepository){
+    public ProductService(
+        RabbitTemplate rabbitTemplate,
+        ProductRepository productRepository,
+        ProductSearchIndex searchIndex,
+        ProductChangeFeed changeFeed,
+        ProductDetailsCache productDetailsCache,
+        ProductCodeFilter productCodeFilter,
+        @Value("${product-management.listing.max-page-size:500}") int maxPageSize,
+        @Value("${product-management.blacklist.event-batch-size:1000}") int blacklistEventBatchSize
+    ){
         this.rabbitTemplate = rabbitTemplate;
         this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+        this.changeFeed = changeFeed;
+        this.productDetailsCache = productDetailsCache;
+        this.productCodeFilter = productCodeFilter;
+        this.maxPageSize = maxPageSize;
+        this.blacklistEventBatchSize = blacklistEventBatchSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes(){
+        try(Stream<Product> products = productRepository.streamAll(null, null)){
+            products.forEach(product -> {
+                searchIndex.add(product);
+                productCodeFilter.add(product.getId());
+            });
+        }
+        productCodeFilter.markLoaded();
+        LOGGER.info("Product search index loaded with {} terms", searchIndex.termCount());
     }
     
     public void blacklistProduct(String productCode){
-        rabbitTemplate.convertAndSend("product_catalog_exchange", "", new ProductBlacklistedEvent(productCode));
+        blacklistProducts(List.of(productCode));
+    }
+    
+    public BlacklistProductsResponse blacklistProducts(Collection<String> productCodes){
+        List<String> requested = productCodes.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        if(requested.isEmpty()){
+            return new BlacklistProductsResponse().setUnknownProductIds(List.of());
+        }
+        
+        List<Product> blacklisted = productRepository.updateStatus(requested, BLACKLISTED_STATUS);
+        requested.forEach(productDetailsCache::invalidate);
+        blacklisted.forEach(product -> changeFeed.record(product.getId(), product.getVersion(), Set.of(ProductChangeFeed.STATUS)));
+        
+        List<String> blacklistedCodes = blacklisted.stream()
+            .map(Product::getId)
+            .toList();
+        for(int from = 0; from < blacklistedCodes.size(); from += blacklistEventBatchSize){
+            List<String> batch = blacklistedCodes.subList(from, Math.min(from + blacklistEventBatchSize, blacklistedCodes.size()));
+            rabbitTemplate.convertAndSend("product_catalog_exchange", "", new ProductsBlacklistedEvent(batch));
+        }
+        
+        // Products that were already blacklisted are not reported again, but they are not unknown either
+        Set<String> changed = new HashSet<>(blacklistedCodes);
+        List<String> unchanged = requested.stream()
+            .filter(productCode -> !changed.contains(productCode))
+            .toList();
+        Set<String> existing = unchanged.isEmpty() ? Set.of() : new HashSet<>(productRepository.findExistingIds(unchanged));
+        return new BlacklistProductsResponse()
+            .setBlacklisted(blacklistedCodes.size())
+            .setUnknownProductIds(unchanged.stream()
+                .filter(productCode -> !existing.contains(productCode))
+                .toList());
+    }
+    
+    public List<String> getBlacklistedProductCodes(){
+        return productRepository.findIdsByStatus(BLACKLISTED_STATUS).stream()
+            .map(Product::getId)
+            .toList();
     }
     
     public AddNewProductResponse registerNewProduct(ProductDetailsRequest request){
-        Product newProduct = resolveProductFrom(request);
-        productRepository.save(newProduct);
+        Product newProduct = productRepository.save(resolveProductFrom(request));
+        searchIndex.add(newProduct);
+        productCodeFilter.add(newProduct.getId());
+        changeFeed.record(newProduct.getId(), newProduct.getVersion(), ProductChangeFeed.ALL_FIELDS);
         return new AddNewProductResponse().setProductId(newProduct.getId());
     }
     
-    private Product resolveProductFrom(ProductDetailsRequest request){
+    static Product resolveProductFrom(ProductDetailsRequest request){
         return new Product()
             .setDescription(request.getDescription())
             .setName(request.getName())
@@ -40,22 +132,65 @@ public class ProductService{
     }
     
     public ProductDetailsResponse retrieveProductDetails(String productCode){
-        return productRepository.findById(productCode)
+        if(productCodeFilter.isDefinitelyAbsent(productCode)){
+            throw new ProductNotFoundException(productCode);
+        }
+        boolean filtered = !productCodeFilter.mightContain(productCode);
+        
+        ProductDetailsResponse product = productDetailsCache.get(productCode, key -> productRepository.findById(key)
             .map(ProductService::translateToResponse)
-            .orElseThrow();
+            .orElse(null));
+        productCodeFilter.recordLookup(productCode, filtered, product != null);
+        if(product == null){
+            throw new ProductNotFoundException(productCode);
+        }
+        return product;
     }
     
-    private static ProductDetailsResponse translateToResponse(Product product){
+    static ProductDetailsResponse translateToResponse(Product product){
         return new ProductDetailsResponse()
             .setDescription(product.getDescription())
             .setName(product.getName())
             .setStatus(product.getStatus())
-            .setProductCode(product.getId());
+            .setProductCode(product.getId())
+            .setVersion(product.getVersion())
+            .setLastModified(product.getLastModified());
     }
     
-    public List<ProductDetailsResponse> getAllProducts(){
-        return productRepository.findAll().stream()
+    public ProductListingVersion getListingVersion(String after, String status){
+        return productRepository.findListingVersion(after, status);
+    }
+    
+    public List<ProductDetailsResponse> searchProducts(String query, int limit){
+        List<String> ids = searchIndex.search(query, Math.min(Math.max(limit, 1), maxPageSize));
+        return productRepository.findAllById(ids).stream()
+            .sorted(Comparator.comparing(Product::getId))
+            .map(ProductService::translateToResponse)
+            .toList();
+    }
+    
+    public List<String> autocomplete(String prefix, int limit){
+        return searchIndex.autocomplete(prefix, Math.min(Math.max(limit, 1), maxPageSize));
+    }
+    
+    /**
+     * The number of products a page requested with {@code limit} holds, between 1 and the configured maximum.
+     */
+    public int pageSize(int limit){
+        return Math.min(Math.max(limit, 1), maxPageSize);
+    }
+    
+    public List<ProductDetailsResponse> getProductPage(String after, String status, int pageSize){
+        return productRepository.findPage(after, status, pageSize).stream()
             .map(ProductService::translateToResponse)
             .toList();
     }
+    
+    /**
+     * Backed by an open Mongo cursor, the caller must close the returned stream.
+     */
+    public Stream<ProductDetailsResponse> streamProducts(String after, String status){
+        return productRepository.streamAll(after, status)
+            .map(ProductService::translateToResponse);
+    }
 }
@@ -0,0 +1,97 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.api.AddNewProductResponse;
+import com.ourecommerce.productmanagement.api.ProductDetailsRequest;
+import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.document.ProductListingVersion;
+import com.ourecommerce.productmanagement.app.repository.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductService{
+    
+    private final ReactiveProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductChangeFeed changeFeed;
+    private final ProductDetailsCache productDetailsCache;
+    private final ProductCodeFilter productCodeFilter;
+    private final int maxPageSize;
+    
+    public ReactiveProductService(
+        ReactiveProductRepository productRepository,
+        ProductSearchIndex searchIndex,
+        ProductChangeFeed changeFeed,
+        ProductDetailsCache productDetailsCache,
+        ProductCodeFilter productCodeFilter,
+        @Value("${product-management.listing.max-page-size:500}") int maxPageSize
+    ){
+        this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+        this.changeFeed = changeFeed;
+        this.productDetailsCache = productDetailsCache;
+        this.productCodeFilter = productCodeFilter;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    public Mono<AddNewProductResponse> registerNewProduct(ProductDetailsRequest request){
+        return productRepository.save(ProductService.resolveProductFrom(request))
+            .doOnNext(newProduct -> {
+                searchIndex.add(newProduct);
+                productCodeFilter.add(newProduct.getId());
+                changeFeed.record(newProduct.getId(), newProduct.getVersion(), ProductChangeFeed.ALL_FIELDS);
+            })
+            .map(newProduct -> new AddNewProductResponse().setProductId(newProduct.getId()));
+    }
+    
+    public Mono<ProductDetailsResponse> retrieveProductDetails(String productCode){
+        if(productCodeFilter.isDefinitelyAbsent(productCode)){
+            return Mono.empty();
+        }
+        boolean filtered = !productCodeFilter.mightContain(productCode);
+        return Mono.justOrEmpty(productDetailsCache.getIfPresent(productCode))
+            .switchIfEmpty(productRepository.findById(productCode)
+                .map(ProductService::translateToResponse)
+                .doOnNext(product -> {
+                    productDetailsCache.put(product);
+                    productCodeFilter.recordLookup(productCode, filtered, true);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> productCodeFilter.recordLookup(productCode, filtered, false))));
+    }
+    
+    public Flux<ProductDetailsResponse> searchProducts(String query, int limit){
+        return productRepository.findAllById(searchIndex.search(query, Math.min(Math.max(limit, 1), maxPageSize)))
+            .sort(Comparator.comparing(Product::getId))
+            .map(ProductService::translateToResponse);
+    }
+    
+    public List<String> autocomplete(String prefix, int limit){
+        return searchIndex.autocomplete(prefix, Math.min(Math.max(limit, 1), maxPageSize));
+    }
+    
+    public Mono<ProductListingVersion> getListingVersion(String after, String status){
+        return productRepository.findListingVersion(after, status);
+    }
+    
+    public int pageSize(int limit){
+        return Math.min(Math.max(limit, 1), maxPageSize);
+    }
+    
+    public Flux<ProductDetailsResponse> getProductPage(String after, String status, int pageSize){
+        return productRepository.findPage(after, status, pageSize)
+            .map(ProductService::translateToResponse);
+    }
+    
+    public Flux<ProductDetailsResponse> streamProducts(String after, String status){
+        return productRepository.streamAll(after, status)
+            .map(ProductService::translateToResponse);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest{
+    
+    @Test
+    void testAddedValuesAreAlwaysFound() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> bloomFilter.add("product-" + i));
+        
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> bloomFilter.mightContain("product-" + i))).isTrue();
+    }
+    
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> bloomFilter.add("product-" + i));
+        
+        long falsePositives = IntStream.range(0, 100_000)
+            .filter(i -> bloomFilter.mightContain("unknown-" + i))
+            .count();
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(bloomFilter.expectedFalsePositiveProbability()).isLessThan(0.02);
+    }
+    
+    @Test
+    void testEmptyFilterRejectsEverything() {
+        BloomFilter bloomFilter = new BloomFilter(1_000, 0.01);
+        
+        assertThat(bloomFilter.mightContain("anything")).isFalse();
+        assertThat(bloomFilter.expectedFalsePositiveProbability()).isZero();
+    }
+}
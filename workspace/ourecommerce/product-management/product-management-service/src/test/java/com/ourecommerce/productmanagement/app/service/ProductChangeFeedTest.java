@@ -0,0 +1,62 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.api.ProductChangedEvent;
+import com.ourecommerce.productmanagement.api.ProductChangesEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ProductChangeFeedTest{
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final ProductChangeFeed changeFeed = new ProductChangeFeed(rabbitTemplate, meterRegistry, 2, 3, Duration.ofMillis(500));
+    
+    @Test
+    void testRecordNeverPublishesOnWritersThread() {
+        for(int i = 0; i < 3; i++){
+            changeFeed.record("p" + i, 1L, Set.of(ProductChangeFeed.NAME));
+        }
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        
+        changeFeed.flush();
+        verify(rabbitTemplate, times(2)).convertAndSend(eq(ProductChangedEvent.EXCHANGE), eq(""), any(ProductChangesEvent.class));
+    }
+    
+    @Test
+    void testPendingIsBoundedWhileBrokerIsDown() {
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+            .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        for(int i = 0; i < 3; i++){
+            changeFeed.record("p" + i, 1L, Set.of(ProductChangeFeed.NAME));
+        }
+        changeFeed.flush();
+        
+        changeFeed.record("p0", 2L, Set.of(ProductChangeFeed.STATUS));
+        changeFeed.record("p3", 1L, Set.of(ProductChangeFeed.NAME));
+        changeFeed.record("p4", 1L, Set.of(ProductChangeFeed.NAME));
+        
+        assertThat(meterRegistry.get("product.change.feed.pending").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("product.change.feed.dropped").counter().count()).isEqualTo(2);
+        
+        doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        changeFeed.flush();
+        assertThat(meterRegistry.get("product.change.feed.pending").gauge().value()).isZero();
+    }
+}
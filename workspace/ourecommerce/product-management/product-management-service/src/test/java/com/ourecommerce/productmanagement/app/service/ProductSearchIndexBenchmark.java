@@ -0,0 +1,91 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of autocomplete and search over a generated catalogue of 1M products. Not part of the test run;
+ * after {@code mvn test-compile} run {@link #main} from the IDE, or {@code org.openjdk.jmh.Main} on the
+ * test classpath with {@code -p products=N} for a different catalogue size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ProductSearchIndexBenchmark{
+    
+    private static final List<String> ADJECTIVES = List.of(
+        "wireless", "compact", "ergonomic", "portable", "premium", "classic", "smart", "rugged", "slim", "modular");
+    private static final List<String> NOUNS = List.of(
+        "keyboard", "mouse", "headset", "monitor", "charger", "cable", "speaker", "camera", "router", "tablet");
+    
+    @Param("1000000")
+    private int products;
+    
+    private ProductSearchIndex searchIndex;
+    
+    @Setup
+    public void setUp(){
+        searchIndex = new ProductSearchIndex();
+        Random random = new Random(42);
+        for(int i = 0; i < products; i++){
+            String adjective = ADJECTIVES.get(random.nextInt(ADJECTIVES.size()));
+            String noun = NOUNS.get(random.nextInt(NOUNS.size()));
+            // A model number per product keeps the dictionary large, as real catalogues are
+            searchIndex.add(new Product()
+                .setId(String.format("%08d", i))
+                .setName(adjective + " " + noun + " " + Integer.toString(i, 36))
+                .setDescription(noun + " by brand" + random.nextInt(5_000)));
+        }
+    }
+    
+    @Benchmark
+    public List<String> autocomplete(){
+        return searchIndex.autocomplete("wire", 10);
+    }
+    
+    @Benchmark
+    public List<String> searchCommonTerms(){
+        return searchIndex.search("wireless keyboard", 20);
+    }
+    
+    @Benchmark
+    public List<String> searchWithPrefix(){
+        return searchIndex.search("ergonomic mou", 20);
+    }
+    
+    @Benchmark
+    public List<String> searchWithTypo(){
+        return searchIndex.search("wirless headst", 20);
+    }
+    
+    @Benchmark
+    public List<String> searchRareTerm(){
+        return searchIndex.search("brand4242 camera", 20);
+    }
+    
+    public static void main(String[] args) throws RunnerException{
+        new Runner(new OptionsBuilder()
+            .include(ProductSearchIndexBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
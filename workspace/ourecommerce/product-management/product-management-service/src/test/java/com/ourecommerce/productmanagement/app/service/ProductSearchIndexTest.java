@@ -0,0 +1,102 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductSearchIndexTest{
+    
+    private ProductSearchIndex searchIndex;
+    
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex();
+        searchIndex.add(new Product().setId("p1").setName("Wireless Keyboard").setDescription("Compact bluetooth keyboard"));
+        searchIndex.add(new Product().setId("p2").setName("Wireless Mouse").setDescription("Ergonomic mouse"));
+        searchIndex.add(new Product().setId("p3").setName("USB-C Cable").setDescription(null));
+    }
+    
+    @Test
+    void testAutocompleteReturnsSortedTerms() {
+        assertThat(searchIndex.autocomplete("Wi", 10)).containsExactly("wireless");
+        assertThat(searchIndex.autocomplete("k", 10)).containsExactly("keyboard");
+        assertThat(searchIndex.autocomplete("", 10)).isEmpty();
+    }
+    
+    @Test
+    void testSearchMatchesAllTokens() {
+        assertThat(searchIndex.search("wireless", 10)).containsExactly("p1", "p2");
+        assertThat(searchIndex.search("wireless mouse", 10)).containsExactly("p2");
+        assertThat(searchIndex.search("usb cable", 10)).containsExactly("p3");
+        assertThat(searchIndex.search("wireless cable", 10)).isEmpty();
+    }
+    
+    @Test
+    void testSearchTreatsLastTokenAsPrefix() {
+        assertThat(searchIndex.search("wireless key", 10)).containsExactly("p1");
+    }
+    
+    @Test
+    void testSearchToleratesSingleTypo() {
+        assertThat(searchIndex.search("wirless mouse", 10)).containsExactly("p2");
+        assertThat(searchIndex.search("keyboadr", 10)).isEmpty();
+    }
+    
+    @Test
+    void testSearchStopsAtLimitInIdOrder() {
+        searchIndex.add(new Product().setId("p0").setName("Wireless Headset").setDescription(null));
+        
+        assertThat(searchIndex.search("wireless", 2)).containsExactly("p0", "p1");
+        assertThat(searchIndex.search("wireless k", 1)).containsExactly("p1");
+    }
+    
+    @Test
+    void testOneEditTermsMatchesBruteForce() {
+        List<String> terms = List.of("mouse", "moose", "mousse", "mose", "house", "mouser", "mousd", "mo", "mice", "mouse2");
+        for(int i = 0; i < terms.size(); i++){
+            searchIndex.add(new Product().setId("t" + i).setName(terms.get(i)));
+        }
+        
+        for(String token : List.of("mouse", "mose", "mousee", "muse", "mousr")){
+            assertThat(searchIndex.oneEditTerms(token))
+                .as(token)
+                .containsExactlyInAnyOrderElementsOf(terms.stream()
+                    .filter(term -> !term.equals(token))
+                    .filter(term -> term.charAt(0) == token.charAt(0))
+                    .filter(term -> withinOneEdit(token, term))
+                    .toList());
+        }
+    }
+    
+    @Test
+    void testWithinOneEdit() {
+        assertThat(withinOneEdit("mouse", "mouse")).isTrue();
+        assertThat(withinOneEdit("mouse", "mose")).isTrue();
+        assertThat(withinOneEdit("mouse", "moose")).isTrue();
+        assertThat(withinOneEdit("mouse", "mousse")).isTrue();
+        assertThat(withinOneEdit("mouse", "house")).isTrue();
+        assertThat(withinOneEdit("mouse", "hose")).isFalse();
+    }
+    
+    // Brute-force oracle for the edit candidates the index generates
+    private static boolean withinOneEdit(String a, String b){
+        if(Math.abs(a.length() - b.length()) > 1){
+            return false;
+        }
+        String shorter = a.length() <= b.length() ? a : b;
+        String longer = shorter == a ? b : a;
+        
+        int i = 0;
+        while(i < shorter.length() && shorter.charAt(i) == longer.charAt(i)){
+            i++;
+        }
+        if(shorter.length() == longer.length()){
+            return i == shorter.length() || shorter.regionMatches(i + 1, longer, i + 1, shorter.length() - i - 1);
+        }
+        return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+    }
+}
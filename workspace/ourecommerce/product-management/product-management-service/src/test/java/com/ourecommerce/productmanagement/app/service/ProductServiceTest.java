@@ -0,0 +1,61 @@
+package com.ourecommerce.productmanagement.app.service;
+
+import com.ourecommerce.productmanagement.app.document.Product;
+import com.ourecommerce.productmanagement.app.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductServiceTest{
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private ProductCodeFilter productCodeFilter;
+    private ProductService productService;
+    
+    @BeforeEach
+    void setUp() {
+        productCodeFilter = new ProductCodeFilter(meterRegistry, 1_000, 0.01, Duration.ofMillis(500), Duration.ofSeconds(5));
+        productService = new ProductService(mock(RabbitTemplate.class), productRepository, new ProductSearchIndex(),
+            mock(ProductChangeFeed.class), new ProductDetailsCache(meterRegistry, productCodeFilter, 100, Duration.ofMinutes(1)),
+            productCodeFilter, 500, 1000);
+        when(productRepository.streamAll(null, null)).thenReturn(Stream.empty());
+        productService.rebuildIndexes();
+    }
+    
+    @Test
+    void testMissAnsweredWithoutRepository() {
+        String oldId = new ObjectId(Date.from(Instant.now().minus(Duration.ofDays(1)))).toHexString();
+        
+        assertThatThrownBy(() -> productService.retrieveProductDetails(oldId)).isInstanceOf(ProductNotFoundException.class);
+        assertThatThrownBy(() -> productService.retrieveProductDetails("not-an-id")).isInstanceOf(ProductNotFoundException.class);
+        
+        verify(productRepository, never()).findById(any());
+        assertThat(meterRegistry.counter("product.lookup.short.circuited").count()).isEqualTo(2);
+    }
+    
+    @Test
+    void testRecentIdRegisteredElsewhereIsLookedUp() {
+        String newId = new ObjectId().toHexString();
+        when(productRepository.findById(newId)).thenReturn(Optional.of(new Product().setId(newId).setName("Mouse").setStatus("ACTIVE")));
+        
+        assertThat(productService.retrieveProductDetails(newId).getProductCode()).isEqualTo(newId);
+        assertThat(productCodeFilter.mightContain(newId)).isTrue();
+    }
+}
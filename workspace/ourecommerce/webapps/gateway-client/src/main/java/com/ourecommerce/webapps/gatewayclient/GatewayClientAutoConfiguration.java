@@ -0,0 +1,77 @@
+package com.ourecommerce.webapps.gatewayclient;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * The WebClient the webapps use to call the API gateway. It is built from Boot's {@link WebClient.Builder}, so
+ * requests are recorded as {@code http.client.requests}, and runs on its own connection pool whose size,
+ * idle eviction and timeouts come from the {@code gateway-client.*} properties.
+ */
+@Configuration
+public class GatewayClientAutoConfiguration{
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "gatewayConnectionProvider")
+    public ConnectionProvider gatewayConnectionProvider(
+        @Value("${gateway-client.pool.max-connections:100}") int maxConnections,
+        @Value("${gateway-client.pool.pending-acquire-max-count:-1}") int pendingAcquireMaxCount,
+        @Value("${gateway-client.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+        @Value("${gateway-client.pool.max-idle-time:30s}") Duration maxIdleTime,
+        @Value("${gateway-client.pool.max-life-time:5m}") Duration maxLifeTime,
+        @Value("${gateway-client.pool.eviction-interval:15s}") Duration evictionInterval
+    ){
+        // Idle connections are evicted in the background before the gateway's own idle timeout closes them
+        return ConnectionProvider.builder("gateway-client")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMaxCount)
+            .pendingAcquireTimeout(pendingAcquireTimeout)
+            .maxIdleTime(maxIdleTime)
+            .maxLifeTime(maxLifeTime)
+            .evictInBackground(evictionInterval)
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WebClient webClient(
+        WebClient.Builder builder,
+        ConnectionProvider gatewayConnectionProvider,
+        @Value("${gateway-client.base-url:http://localhost:9001}") String baseUrl,
+        @Value("${gateway-client.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${gateway-client.response-timeout:10s}") Duration responseTimeout,
+        @Value("${gateway-client.http2:false}") boolean http2,
+        @Value("${gateway-client.compress:false}") boolean compress,
+        @Value("${gateway-client.cache.enabled:false}") boolean cacheEnabled,
+        @Value("${gateway-client.cache.max-size:16MB}") DataSize cacheMaxSize,
+        @Value("${gateway-client.cache.max-entry-size:1MB}") DataSize cacheMaxEntrySize,
+        @Value("${gateway-client.cache.time-to-live:30s}") Duration cacheTimeToLive
+    ){
+        // h2c multiplexes all calls over a few connections; HTTP/1.1 stays available for gateways without it.
+        // Compression is off by default because the jwt-mvc proxy relays encoded bodies to the browser untouched.
+        HttpClient httpClient = HttpClient.create(gatewayConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+            .responseTimeout(responseTimeout)
+            .protocol(http2 ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11} : new HttpProtocol[]{HttpProtocol.HTTP11})
+            .compress(compress);
+        WebClient.Builder gatewayBuilder = builder
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient));
+        if(cacheEnabled){
+            gatewayBuilder.filter(new GatewayResponseCache(cacheMaxSize.toBytes(), cacheMaxEntrySize.toBytes(), cacheTimeToLive));
+        }
+        return gatewayBuilder.build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ourecommerce.webapps.gatewayclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-memory cache for successful GET responses. The body is copied as it streams through to the caller, so
+ * caching never delays the first response, and a body that outgrows the entry limit is simply not stored.
+ * Streaming media types, requests carrying credentials and responses marked no-store or private are skipped.
+ */
+public class GatewayResponseCache implements ExchangeFilterFunction{
+
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final Cache<String, CachedResponse> cache;
+    private final long maxEntrySize;
+
+    public GatewayResponseCache(long maxSize, long maxEntrySize, Duration timeToLive){
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSize)
+            .weigher((String key, CachedResponse response) -> response.body.length + key.length())
+            .expireAfterWrite(timeToLive)
+            .build();
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next){
+        if(request.method() != HttpMethod.GET || request.headers().containsKey(HttpHeaders.AUTHORIZATION)){
+            return next.exchange(request);
+        }
+        String key = keyOf(request);
+        CachedResponse cached = cache.getIfPresent(key);
+        if(cached != null){
+            return Mono.just(cached.toClientResponse());
+        }
+        return next.exchange(request).map(response -> cacheable(response) ? tee(key, response) : response);
+    }
+
+    private boolean cacheable(ClientResponse response){
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        String cacheControl = headers.getCacheControl();
+        if(response.statusCode() != HttpStatus.OK
+            || cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))
+            || headers.getContentLength() > maxEntrySize){
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        return contentType == null || STREAMING_MEDIA_TYPES.stream().noneMatch(contentType::isCompatibleWith);
+    }
+
+    private ClientResponse tee(String key, ClientResponse response){
+        HttpStatusCode status = response.statusCode();
+        HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(response.headers().asHttpHeaders());
+        return response.mutate()
+            .body(body -> {
+                ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                boolean[] overflow = {false};
+                return body
+                    .doOnNext(buffer -> overflow[0] = overflow[0] || !append(copy, buffer))
+                    .doOnComplete(() -> {
+                        if(!overflow[0]){
+                            cache.put(key, new CachedResponse(status, headers, copy.toByteArray()));
+                        }
+                    });
+            })
+            .build();
+    }
+
+    private boolean append(ByteArrayOutputStream copy, DataBuffer buffer){
+        int length = buffer.readableByteCount();
+        if(copy.size() + length > maxEntrySize){
+            return false;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        buffer.toByteBuffer(buffer.readPosition(), bytes, 0, length);
+        copy.write(bytes.array(), 0, length);
+        return true;
+    }
+
+    private static String keyOf(ClientRequest request){
+        HttpHeaders headers = request.headers();
+        return request.url() + "|" + headers.getFirst(HttpHeaders.ACCEPT) + "|" + headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static class CachedResponse{
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body){
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        private ClientResponse toClientResponse(){
+            return ClientResponse.create(status)
+                .headers(target -> target.addAll(headers))
+                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                .build();
+        }
+    }
+}
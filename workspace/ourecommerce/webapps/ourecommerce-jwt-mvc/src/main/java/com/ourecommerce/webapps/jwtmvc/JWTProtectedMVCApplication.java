@@ -2,8 +2,10 @@ package com.ourecommerce.webapps.jwtmvc;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JWTProtectedMVCApplication{
     public static void main(String[] args) {
         SpringApplication.run(JWTProtectedMVCApplication.class, args);
@@ -0,0 +1,40 @@
+package com.ourecommerce.webapps.jwtmvc.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites absolute {@code src} and {@code href} links in HTML pages to the versioned URLs of the resource chain,
+ * the HTML counterpart of Spring's {@code CssLinkResourceTransformer}.
+ */
+class HtmlLinkResourceTransformer extends ResourceTransformerSupport{
+
+    private static final Pattern LINK = Pattern.compile("(src|href)=\"(/[^\"/][^\"]*)\"");
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain) throws IOException{
+        resource = chain.transform(request, resource);
+        String filename = resource.getFilename();
+        if(filename == null || !filename.endsWith(".html")){
+            return resource;
+        }
+
+        Matcher link = LINK.matcher(resource.getContentAsString(StandardCharsets.UTF_8));
+        StringBuilder html = new StringBuilder();
+        while(link.find()){
+            String versioned = resolveUrlPath(link.group(2), request, resource, chain);
+            String url = versioned != null ? versioned : link.group(2);
+            link.appendReplacement(html, Matcher.quoteReplacement(link.group(1) + "=\"" + url + "\""));
+        }
+        link.appendTail(html);
+        return new TransformedResource(resource, html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package com.ourecommerce.webapps.jwtmvc.config;
 
 import com.ourecommerce.webapps.jwtmvc.security.JwtTokenFilter;
+import com.ourecommerce.webapps.jwtmvc.security.RevokeTokenLogoutHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,7 +10,6 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.config.annotation.web.configurers.LogoutConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -50,16 +50,17 @@ public class SecurityConfig{
     }
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtTokenFilter jwtTokenFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+        HttpSecurity http, JwtTokenFilter jwtTokenFilter, RevokeTokenLogoutHandler revokeTokenLogoutHandler) throws Exception {
         
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(matcherRegistry -> matcherRegistry
-                .requestMatchers("/", "/index.html", "/spa.js", "/favicon.ico").permitAll()
+                .requestMatchers("/", "/index.html", "/spa*.js", "/favicon.ico").permitAll()
                 .requestMatchers("/authenticate").permitAll()
                 .anyRequest().authenticated()
             )
-            .logout(LogoutConfigurer::permitAll)
+            .logout(logout -> logout.addLogoutHandler(revokeTokenLogoutHandler).permitAll())
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class);
         
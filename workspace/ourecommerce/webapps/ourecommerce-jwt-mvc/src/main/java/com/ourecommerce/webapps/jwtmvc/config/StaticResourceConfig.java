@@ -0,0 +1,54 @@
+package com.ourecommerce.webapps.jwtmvc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the SPA's assets under content-hash URLs such as {@code /spa-<md5>.js}, cached as immutable for a year,
+ * from the precompressed variants produced by the build when the browser accepts them. Only URLs carrying a hash
+ * are immutable; the page and assets requested by their plain name, such as {@code /spa.js}, are revalidated on
+ * every load. The page has its asset links rewritten to the current hashes, so a deploy is picked up immediately
+ * while unchanged assets are never fetched again.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer{
+
+    private static final String LOCATION = "classpath:/public/";
+    // The file name with the md5 the content version strategy inserts before the extension
+    private static final String FINGERPRINTED = "/{file:.+-[0-9a-f]{32}\\..+}";
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry){
+        registry.addResourceHandler("/index.html")
+            .addResourceLocations(LOCATION)
+            .setCacheControl(CacheControl.noCache())
+            .resourceChain(true)
+            .addTransformer(new HtmlLinkResourceTransformer());
+
+        // A hash that does not match the content is not resolved, so only current content is cached for good
+        registry.addResourceHandler(FINGERPRINTED)
+            .addResourceLocations(LOCATION)
+            .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(versionResolver());
+
+        // Still versioned, as the page's links are resolved through the handler matching their plain name
+        registry.addResourceHandler("/**")
+            .addResourceLocations(LOCATION)
+            .setCacheControl(CacheControl.noCache())
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(versionResolver());
+    }
+
+    private static VersionResourceResolver versionResolver(){
+        return new VersionResourceResolver().addContentVersionStrategy("/**");
+    }
+}
@@ -2,11 +2,12 @@ package com.ourecommerce.webapps.jwtmvc.controllers;
 
 import com.ourecommerce.webapps.jwtmvc.dto.AuthRequest;
 import com.ourecommerce.webapps.jwtmvc.dto.AuthResponse;
+import com.ourecommerce.webapps.jwtmvc.security.PasswordVerificationBusyException;
+import com.ourecommerce.webapps.jwtmvc.security.PasswordVerificationPool;
 import com.ourecommerce.webapps.jwtmvc.util.JwtUtil;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,28 +18,34 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class AuthController{
     
-    private final AuthenticationManager authenticationManager;
+    private final PasswordVerificationPool passwordVerificationPool;
+    private final JwtUtil jwtUtil;
     
-    public AuthController(AuthenticationManager authenticationManager){
-        this.authenticationManager = authenticationManager;
+    public AuthController(PasswordVerificationPool passwordVerificationPool, JwtUtil jwtUtil){
+        this.passwordVerificationPool = passwordVerificationPool;
+        this.jwtUtil = jwtUtil;
     }
     
     @PostMapping("/authenticate")
     public ResponseEntity<AuthResponse> login(AuthRequest authRequest) {
         try {
-            Authentication authenticate = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword()));
+            Authentication authenticate =
+                passwordVerificationPool.authenticate(authRequest.getUsername(), authRequest.getPassword());
             
             UserDetails userDetails = (UserDetails) authenticate.getPrincipal();
 
             return ResponseEntity.ok()
                 .header(
                     HttpHeaders.AUTHORIZATION,
-                    JwtUtil.generateToken(userDetails.getUsername())
+                    jwtUtil.generateToken(userDetails)
                 )
                 .body(new AuthResponse().setRole(resolveRole(userDetails)));
         } catch (AuthenticationException e) {
             throw new RuntimeException("Invalid credentials");
+        } catch (PasswordVerificationBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
         }
     }
     
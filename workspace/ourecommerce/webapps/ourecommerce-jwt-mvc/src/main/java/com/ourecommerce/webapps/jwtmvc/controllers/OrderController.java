@@ -1,29 +1,25 @@
 package com.ourecommerce.webapps.jwtmvc.controllers;
 
-import com.ourecommerce.ordermanagement.api.PlaceOrder;
-import com.ourecommerce.ordermanagement.api.PlaceOrderResponse;
+import com.ourecommerce.webapps.jwtmvc.proxy.GatewayProxy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     
     @Autowired
-    private WebClient webClient;
+    private GatewayProxy gatewayProxy;
     
     @PostMapping
-    public PlaceOrderResponse createOrder(@RequestBody PlaceOrder orderRequest) {
-        return webClient.post()
-            .uri("/orders")
-            .bodyValue(orderRequest)
-            .retrieve()
-            .bodyToMono(PlaceOrderResponse.class)
-            .block();
+    public void createOrder(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        gatewayProxy.forward(HttpMethod.POST, "/orders", request, response);
     }
 }
-
@@ -1,43 +1,31 @@
 package com.ourecommerce.webapps.jwtmvc.controllers;
 
-import com.ourecommerce.productmanagement.api.AddNewProductResponse;
-import com.ourecommerce.productmanagement.api.ProductDetailsRequest;
-import com.ourecommerce.productmanagement.api.ProductDetailsResponse;
+import com.ourecommerce.webapps.jwtmvc.proxy.GatewayProxy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.reactive.function.client.WebClient;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     
     @Autowired
-    private WebClient webClient;
+    private GatewayProxy gatewayProxy;
     
     @GetMapping
-    public List<ProductDetailsResponse> getProducts() {
-        return webClient.get()
-            .uri("/products")
-            .retrieve()
-            .bodyToFlux(ProductDetailsResponse.class)
-            .collectList()
-            .block();
+    public void getProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        gatewayProxy.forward(HttpMethod.GET, "/products", request, response);
     }
     
     @PostMapping
-    public AddNewProductResponse createProduct(@RequestBody ProductDetailsRequest product) {
-        return webClient.post()
-            .uri("/products")
-            .bodyValue(product)
-            .retrieve()
-            .bodyToMono(AddNewProductResponse.class)
-            .block();
+    public void createProduct(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        gatewayProxy.forward(HttpMethod.POST, "/products", request, response);
     }
 }
-
@@ -0,0 +1,109 @@
+package com.ourecommerce.webapps.jwtmvc.proxy;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Forwards SPA API calls to the gateway without decoding them. The upstream body is copied to the servlet
+ * response buffer by buffer as it arrives, so memory per call stays constant whatever the payload size, and
+ * a slow browser slows the upstream read instead of piling up buffers. Meant to run on virtual request threads,
+ * which block on the output stream while waiting.
+ */
+@Component
+public class GatewayProxy{
+    
+    // The user's token lets the gateway charge each user to their own rate limit rather than this host
+    private static final List<String> REQUEST_HEADERS = List.of(
+        HttpHeaders.AUTHORIZATION, HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING,
+        HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> RESPONSE_HEADERS = List.of(
+        HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_ENCODING,
+        HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY,
+        HttpHeaders.LOCATION, HttpHeaders.LINK, HttpHeaders.RETRY_AFTER,
+        "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset");
+    // Buffers requested ahead of the client, the bound on what a slow client makes the proxy hold
+    private static final int PREFETCH = 4;
+    private static final int CHUNK_SIZE = 8192;
+    
+    private final WebClient webClient;
+    
+    public GatewayProxy(WebClient webClient){
+        this.webClient = webClient;
+    }
+    
+    public void forward(HttpMethod method, String path, HttpServletRequest request, HttpServletResponse response)
+        throws IOException{
+        WebClient.RequestBodySpec upstreamRequest = webClient.method(method)
+            // The query arrives percent-encoded and is passed on as is, encoding it again would corrupt it
+            .uri(uri -> UriComponentsBuilder.fromUri(uri.path(path).build())
+                .query(request.getQueryString())
+                .build(true)
+                .toUri())
+            .headers(headers -> REQUEST_HEADERS.forEach(name -> {
+                String value = request.getHeader(name);
+                if(value != null){
+                    headers.set(name, value);
+                }
+            }));
+        if(hasBody(request)){
+            // API request bodies are small forms, read on the request thread rather than streamed
+            upstreamRequest.bodyValue(request.getInputStream().readAllBytes());
+        }else if(!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)){
+            upstreamRequest.bodyValue(new byte[0]);
+        }
+        
+        ResponseEntity<Flux<DataBuffer>> upstream = upstreamRequest
+            .retrieve()
+            .onStatus(HttpStatusCode::isError, error -> Mono.empty())
+            .toEntityFlux(DataBuffer.class)
+            .block();
+        
+        response.setStatus(upstream.getStatusCode().value());
+        HttpHeaders headers = upstream.getHeaders();
+        RESPONSE_HEADERS.forEach(name -> headers.getOrEmpty(name).forEach(value -> response.addHeader(name, value)));
+        write(upstream.getBody(), response.getOutputStream());
+    }
+    
+    // A length of -1 is either a chunked body or no body at all
+    private static boolean hasBody(HttpServletRequest request){
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+    
+    private static void write(Flux<DataBuffer> body, OutputStream out) throws IOException{
+        byte[] chunk = new byte[CHUNK_SIZE];
+        // Closing the stream cancels the upstream read if the client goes away, discarded buffers are released
+        try(Stream<DataBuffer> buffers = body.doOnDiscard(DataBuffer.class, DataBufferUtils::release).toStream(PREFETCH)){
+            Iterator<DataBuffer> iterator = buffers.iterator();
+            while(iterator.hasNext()){
+                DataBuffer buffer = iterator.next();
+                try{
+                    while(buffer.readableByteCount() > 0){
+                        int length = Math.min(chunk.length, buffer.readableByteCount());
+                        buffer.read(chunk, 0, length);
+                        out.write(chunk, 0, length);
+                    }
+                }finally{
+                    DataBufferUtils.release(buffer);
+                }
+                out.flush();
+            }
+        }
+    }
+}
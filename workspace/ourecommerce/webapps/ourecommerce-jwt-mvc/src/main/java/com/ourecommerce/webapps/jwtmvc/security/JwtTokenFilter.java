@@ -1,6 +1,7 @@
 package com.ourecommerce.webapps.jwtmvc.security;
 
 import com.ourecommerce.webapps.jwtmvc.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,9 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,10 +19,13 @@ import java.util.Optional;
 @Component
 public class JwtTokenFilter extends OncePerRequestFilter{
     
-    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokens;
+    private final TokenDenylist denylist;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
     
-    public JwtTokenFilter(UserDetailsService userDetailsService){
-        this.userDetailsService = userDetailsService;
+    public JwtTokenFilter(VerifiedTokenCache verifiedTokens, TokenDenylist denylist){
+        this.verifiedTokens = verifiedTokens;
+        this.denylist = denylist;
     }
     
     @Override
@@ -34,28 +35,23 @@ public class JwtTokenFilter extends OncePerRequestFilter{
         FilterChain filterChain
     ) throws ServletException, IOException{
         final Optional<String> authorizationHeader = Optional.ofNullable(request.getHeader(HttpHeaders.AUTHORIZATION));
-        if(authorizationHeader.isEmpty()){
+        if(authorizationHeader.isEmpty() || SecurityContextHolder.getContext().getAuthentication() != null){
             filterChain.doFilter(request, response);
             return;
         }
         
-        final String jwtToken = authorizationHeader.get();
-        final var username = Optional.ofNullable(JwtUtil.extractUsername(jwtToken));
-        
-        if(username.isEmpty() || SecurityContextHolder.getContext().getAuthentication() != null){
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username.get());
-        if(!JwtUtil.isTokenValid(jwtToken, userDetails.getUsername())){
+        // Signature and expiry are checked once here; a token that fails either, or was revoked, is treated as absent
+        final Optional<Claims> claims = verifiedTokens.verify(authorizationHeader.get())
+            .filter(verified -> !denylist.isRevoked(verified.getId()));
+        if(claims.isEmpty()){
             filterChain.doFilter(request, response);
             return;
         }
         
-        var authenticationToken =
-            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        // The token carries the roles, so no user lookup is needed
+        var authenticationToken = new UsernamePasswordAuthenticationToken(
+            claims.get().getSubject(), null, JwtUtil.authorities(claims.get()));
+        authenticationToken.setDetails(authenticationDetailsSource.buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         filterChain.doFilter(request, response);
     }
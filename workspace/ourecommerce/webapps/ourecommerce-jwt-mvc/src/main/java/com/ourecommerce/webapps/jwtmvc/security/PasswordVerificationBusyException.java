@@ -0,0 +1,11 @@
+package com.ourecommerce.webapps.jwtmvc.security;
+
+/**
+ * Thrown when a login cannot be verified right now. Carries no stack trace, since it is expected during login storms.
+ */
+public class PasswordVerificationBusyException extends RuntimeException{
+
+    public PasswordVerificationBusyException(){
+        super("Password verification is saturated", null, false, false);
+    }
+}
@@ -0,0 +1,133 @@
+package com.ourecommerce.webapps.jwtmvc.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password checks on a small dedicated pool, so a burst of logins cannot occupy the CPU that serves API
+ * traffic. Submissions beyond the queue limit are rejected straight away, and a login identical to one already
+ * in flight, same user and same password, waits for that check instead of starting another.
+ */
+@Component
+public class PasswordVerificationPool implements DisposableBean{
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Map<String, CompletableFuture<Authentication>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Counter coalesced;
+
+    public PasswordVerificationPool(
+        AuthenticationManager authenticationManager,
+        MeterRegistry meterRegistry,
+        @Value("${jwt.password-verification.threads:0}") int threads,
+        @Value("${jwt.password-verification.queue-capacity:64}") int queueCapacity,
+        @Value("${jwt.password-verification.timeout:5s}") Duration timeout
+    ){
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.authenticationManager = authenticationManager;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-verification-"));
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("authentication.password.rejected");
+        this.coalesced = meterRegistry.counter("authentication.password.coalesced");
+        new ExecutorServiceMetrics(executor, "password-verification", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * @throws AuthenticationException if the credentials are wrong
+     * @throws PasswordVerificationBusyException if the pool is saturated or the check did not finish in time
+     */
+    public Authentication authenticate(String username, String password){
+        // The password is part of the key, so a wrong guess never shares the outcome of a correct login
+        String key = username + ':' + sha256(password);
+        CompletableFuture<Authentication> verification = new CompletableFuture<>();
+        CompletableFuture<Authentication> existing = inFlight.putIfAbsent(key, verification);
+        if(existing != null){
+            coalesced.increment();
+            return await(existing);
+        }
+        verification.whenComplete((authentication, failure) -> inFlight.remove(key, verification));
+        try{
+            executor.execute(() -> verify(username, password, verification));
+        }catch(RejectedExecutionException e){
+            rejected.increment();
+            verification.completeExceptionally(new PasswordVerificationBusyException());
+        }
+        return await(verification);
+    }
+
+    private void verify(String username, String password, CompletableFuture<Authentication> verification){
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try{
+            verification.complete(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password)));
+        }catch(AuthenticationException e){
+            outcome = "failure";
+            verification.completeExceptionally(e);
+        }catch(RuntimeException e){
+            outcome = "error";
+            verification.completeExceptionally(e);
+        }finally{
+            sample.stop(meterRegistry.timer("authentication.password.verification", "outcome", outcome));
+        }
+    }
+
+    private Authentication await(CompletableFuture<Authentication> verification){
+        try{
+            return verification.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }catch(ExecutionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }catch(TimeoutException e){
+            throw new PasswordVerificationBusyException();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new PasswordVerificationBusyException();
+        }
+    }
+
+    private static String sha256(String value){
+        try{
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        }catch(NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void destroy(){
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ourecommerce.webapps.jwtmvc.security;
+
+import com.ourecommerce.webapps.jwtmvc.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RevokeTokenLogoutHandler implements LogoutHandler{
+
+    private final JwtUtil jwtUtil;
+    private final TokenDenylist denylist;
+
+    public RevokeTokenLogoutHandler(JwtUtil jwtUtil, TokenDenylist denylist){
+        this.jwtUtil = jwtUtil;
+        this.denylist = denylist;
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication){
+        String token = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if(token == null){
+            return;
+        }
+        try{
+            Claims claims = jwtUtil.parseClaims(token);
+            denylist.revoke(claims.getId(), claims.getExpiration());
+        }catch(JwtException | IllegalArgumentException e){
+            // Nothing to revoke for a token that no longer verifies
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ourecommerce.webapps.jwtmvc.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The HMAC keys tokens are signed with, configured as {@code key-id:base64-secret} entries. New tokens are
+ * signed with the active key; the others keep verifying tokens issued before a rotation until they are removed.
+ */
+@Component
+public class SigningKeys{
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SigningKeys.class);
+    private static final String EPHEMERAL_KEY_ID = "ephemeral";
+
+    private final Map<String, SecretKey> keys = new LinkedHashMap<>();
+    private final String activeKeyId;
+
+    public SigningKeys(
+        @Value("${jwt.signing.keys:}") List<String> keys,
+        @Value("${jwt.signing.active-key-id:}") String activeKeyId
+    ){
+        for(String entry : keys){
+            if(entry.isBlank()){
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if(separator < 1){
+                throw new IllegalStateException("Signing key entries must be key-id:base64-secret");
+            }
+            this.keys.put(entry.substring(0, separator).trim(),
+                Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.substring(separator + 1).trim())));
+        }
+        if(this.keys.isEmpty()){
+            LOGGER.warn("No jwt.signing.keys configured, tokens will not survive a restart");
+            this.keys.put(EPHEMERAL_KEY_ID, Keys.secretKeyFor(SignatureAlgorithm.HS256));
+        }
+        this.activeKeyId = activeKeyId.isBlank() ? this.keys.keySet().iterator().next() : activeKeyId;
+        if(!this.keys.containsKey(this.activeKeyId)){
+            throw new IllegalStateException("Active signing key " + this.activeKeyId + " is not configured");
+        }
+    }
+
+    public String activeKeyId(){
+        return activeKeyId;
+    }
+
+    public SecretKey activeKey(){
+        return keys.get(activeKeyId);
+    }
+
+    public SecretKey verificationKey(String keyId){
+        SecretKey key = keys.get(keyId == null ? activeKeyId : keyId);
+        if(key == null){
+            throw new UnsupportedJwtException("Unknown signing key " + keyId);
+        }
+        return key;
+    }
+}
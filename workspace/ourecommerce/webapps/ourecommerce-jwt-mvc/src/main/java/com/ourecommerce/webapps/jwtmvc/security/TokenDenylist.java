@@ -0,0 +1,71 @@
+package com.ourecommerce.webapps.jwtmvc.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ids of revoked tokens, reloaded in bulk from {@code revoked_tokens(jti, expires_at)} so the per-request check
+ * never touches the database. Replicas pick up each other's revocations within one refresh interval.
+ */
+@Component
+public class TokenDenylist implements SchedulingConfigurer{
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private volatile Set<String> revoked = Set.of();
+
+    public TokenDenylist(
+        JdbcTemplate jdbcTemplate,
+        @Value("${jwt.denylist.enabled:false}") boolean enabled,
+        @Value("${jwt.denylist.refresh-interval:30s}") Duration refreshInterval
+    ){
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+    }
+
+    public boolean isRevoked(String tokenId){
+        return enabled && tokenId != null && revoked.contains(tokenId);
+    }
+
+    public void revoke(String tokenId, Date expiresAt){
+        if(!enabled || tokenId == null){
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO revoked_tokens(jti, expires_at) VALUES (?, ?)", tokenId, new Timestamp(expiresAt.getTime()));
+        Set<String> updated = new HashSet<>(revoked);
+        updated.add(tokenId);
+        revoked = Set.copyOf(updated);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar){
+        if(enabled){
+            taskRegistrar.addFixedDelayTask(this::refresh, refreshInterval);
+        }
+    }
+
+    public void refresh(){
+        try{
+            revoked = Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT jti FROM revoked_tokens WHERE expires_at > ?", String.class, new Timestamp(System.currentTimeMillis())));
+        }catch(DataAccessException e){
+            LOGGER.warn("Could not refresh the token denylist, keeping {} known revocations", revoked.size(), e);
+        }
+    }
+}
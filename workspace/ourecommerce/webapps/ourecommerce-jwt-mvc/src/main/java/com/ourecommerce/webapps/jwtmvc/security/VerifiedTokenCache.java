@@ -0,0 +1,81 @@
+package com.ourecommerce.webapps.jwtmvc.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ourecommerce.webapps.jwtmvc.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens whose signature has already been checked, keyed by their SHA-256 hash so raw tokens are
+ * never held in memory. An entry lives until the token itself expires, after which it is verified again.
+ */
+@Component
+public class VerifiedTokenCache{
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, Claims> verified;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${jwt.verified-token-cache.maximum-size:10000}") long maximumSize){
+        this.jwtUtil = jwtUtil;
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry())
+            .build();
+    }
+
+    public Optional<Claims> verify(String token){
+        String key = hash(token);
+        Claims claims = verified.getIfPresent(key);
+        if(claims != null){
+            return Optional.of(claims);
+        }
+        try{
+            claims = jwtUtil.parseClaims(token);
+        }catch(JwtException | IllegalArgumentException e){
+            return Optional.empty();
+        }
+        if(claims.getExpiration() != null){
+            verified.put(key, claims);
+        }
+        return Optional.of(claims);
+    }
+
+    private static String hash(String token){
+        try{
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        }catch(NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Claims>{
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime){
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration){
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration){
+            return currentDuration;
+        }
+    }
+}
@@ -1,44 +1,81 @@
 package com.ourecommerce.webapps.jwtmvc.util;
 
+import com.ourecommerce.webapps.jwtmvc.security.SigningKeys;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Issues and verifies tokens that carry the user's roles, so requests can be authorized from the token alone.
+ */
+@Component
 public class JwtUtil{
-    private static final long EXPIRATION_TIME = 864_000_00; // 1 day in milliseconds
-    private static final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    
-    public static String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
+
+    public static final String ROLES = "roles";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final SigningKeys signingKeys;
+    private final Duration expiration;
+    private final JwtParser parser;
+
+    public JwtUtil(SigningKeys signingKeys, @Value("${jwt.expiration:1d}") Duration expiration){
+        this.signingKeys = signingKeys;
+        this.expiration = expiration;
+        this.parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter(){
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims){
+                    return signingKeys.verificationKey(header.getKeyId());
+                }
+            })
+            .build();
+    }
+
+    public String generateToken(UserDetails userDetails) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-            .setClaims(claims)
-            .setSubject(username)
-            .setIssuedAt(new Date(System.currentTimeMillis()))
-            .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-            .signWith(SECRET_KEY)
+            .setHeaderParam(JwsHeader.KEY_ID, signingKeys.activeKeyId())
+            .setId(UUID.randomUUID().toString())
+            .setSubject(userDetails.getUsername())
+            .claim(ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.replaceFirst("^" + ROLE_PREFIX, ""))
+                .toList())
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + expiration.toMillis()))
+            .signWith(signingKeys.activeKey())
             .compact();
     }
-    
-    public static String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(token).getBody().getSubject();
-    }
-    
-    public static boolean isTokenValid(String token, String username) {
-        return extractUsername(token).equals(username) && !isTokenExpired(token);
+
+    /**
+     * Verifies the signature and expiry of the token in a single parse.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with, expired or signed with a retired key
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
-    
-    private static boolean isTokenExpired(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(SECRET_KEY)
-            .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration()
-                .before(new Date());
+
+    public static List<GrantedAuthority> authorities(Claims claims) {
+        List<?> roles = claims.get(ROLES, List.class);
+        if(roles == null){
+            return List.of();
+        }
+        return roles.stream()
+            .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(ROLE_PREFIX + role))
+            .toList();
     }
 }
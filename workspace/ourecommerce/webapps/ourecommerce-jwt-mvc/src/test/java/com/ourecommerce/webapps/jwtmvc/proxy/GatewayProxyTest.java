@@ -0,0 +1,38 @@
+package com.ourecommerce.webapps.jwtmvc.proxy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GatewayProxyTest{
+
+    @Test
+    void testForwardsEncodedQueryUnchanged() throws Exception{
+        AtomicReference<URI> forwarded = new AtomicReference<>();
+        GatewayProxy proxy = new GatewayProxy(WebClient.builder()
+            .baseUrl("http://gateway:9001")
+            .exchangeFunction(request -> {
+                forwarded.set(request.url());
+                return Mono.just(ClientResponse.create(HttpStatus.OK).body("[]").build());
+            })
+            .build());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setQueryString("q=caf%C3%A9&tag=%7Bnew%7D&after=a%2Bb");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        proxy.forward(HttpMethod.GET, "/products", request, response);
+
+        assertThat(forwarded.get()).hasToString("http://gateway:9001/products?q=caf%C3%A9&tag=%7Bnew%7D&after=a%2Bb");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+}
@@ -34,6 +34,8 @@ public class OrderController {
     
     @GetMapping("/orders")
     public String getOrderForm(Model model) {
+        // The page uses the products twice (options and script), so they are collected; blocking is cheap on the
+        // virtual thread serving the request
         List<Product> products = webClient
             .get()
             .uri("/products")
@@ -43,7 +45,7 @@ public class OrderController {
             .block();
         
         model.addAttribute("orderRequest", new OrderRequest());
-        model.addAttribute("products", products); // Block for simplicity; avoid in production
+        model.addAttribute("products", products);
         return "orders";
     }
 }
@@ -3,12 +3,12 @@ package com.ourecommerce.webapps.mvc.controllers;
 import com.ourecommerce.webapps.mvc.dto.Product;
 import com.ourecommerce.webapps.mvc.dto.ProductResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.ModelAndView;
-import reactor.core.publisher.Flux;
 
 @Controller
 public class ProductController {
@@ -18,16 +18,16 @@ public class ProductController {
     
     @GetMapping("/products")
     public String getProducts(Model model) {
-        Flux<Product> productsFlux = webClient.get()
+        // Consumed lazily by the template: rows are rendered as the products stream in, each wait blocking only
+        // the request's virtual thread
+        Iterable<Product> products = webClient.get()
             .uri("/products")
+            .accept(MediaType.APPLICATION_NDJSON)
             .retrieve()
-            .bodyToFlux(Product.class);
-        
-        productsFlux
-            .collectList()
-            .doOnNext(products -> model.addAttribute("products", products))
-            .block();
+            .bodyToFlux(Product.class)
+            .toIterable();
         
+        model.addAttribute("products", products);
         return "products";
     }
     